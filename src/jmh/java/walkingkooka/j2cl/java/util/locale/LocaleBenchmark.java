@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the warm hot paths of the emulated {@link Locale}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocaleBenchmark {
+
+    private String language;
+
+    private String languageCountry;
+
+    private String languageScriptCountry;
+
+    private String unknown;
+
+    private Locale locale;
+
+    private Locale equal;
+
+    private Locale different;
+
+    @Setup
+    public void setup() {
+        this.language = "en";
+        this.languageCountry = "en-AU";
+        this.languageScriptCountry = "zh-Hant-TW";
+        this.unknown = "xyz-QQ";
+
+        this.locale = Locale.forLanguageTag(this.languageCountry);
+        this.equal = new Locale("en", "AU");
+        this.different = Locale.forLanguageTag("en-NZ");
+
+        // force decoding of the LocaleProvider.DATA outside measurements
+        Locale.getAvailableLocales();
+    }
+
+    @Benchmark
+    public Locale forLanguageTagLanguage() {
+        return Locale.forLanguageTag(this.language);
+    }
+
+    @Benchmark
+    public Locale forLanguageTagLanguageCountry() {
+        return Locale.forLanguageTag(this.languageCountry);
+    }
+
+    @Benchmark
+    public Locale forLanguageTagLanguageScriptCountry() {
+        return Locale.forLanguageTag(this.languageScriptCountry);
+    }
+
+    @Benchmark
+    public Locale forLanguageTagUnknown() {
+        return Locale.forLanguageTag(this.unknown);
+    }
+
+    @Benchmark
+    public Locale[] getAvailableLocales() {
+        return Locale.getAvailableLocales();
+    }
+
+    @Benchmark
+    public String toStringLocale() {
+        return this.locale.toString();
+    }
+
+    @Benchmark
+    public int hashCodeLocale() {
+        return this.locale.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsSame() {
+        return this.locale.equals(this.locale);
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return this.locale.equals(this.equal);
+    }
+
+    @Benchmark
+    public boolean equalsDifferent() {
+        return this.locale.equals(this.different);
+    }
+}
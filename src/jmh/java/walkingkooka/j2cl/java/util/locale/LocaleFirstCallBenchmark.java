@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first, cold call of each entry point, every measurement happens in a new JVM so the
+ * {@link walkingkooka.j2cl.java.util.locale.generated.LocaleProvider#DATA} is decoded again.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class LocaleFirstCallBenchmark {
+
+    @Benchmark
+    public Locale[] getAvailableLocales() {
+        return Locale.getAvailableLocales();
+    }
+
+    @Benchmark
+    public Locale forLanguageTagLanguage() {
+        return Locale.forLanguageTag("en");
+    }
+
+    @Benchmark
+    public Locale forLanguageTagLanguageCountry() {
+        return Locale.forLanguageTag("en-AU");
+    }
+
+    @Benchmark
+    public Locale getDefault() {
+        return Locale.getDefault();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocaleSupportBenchmark {
+
+    private Locale withoutAlternative;
+
+    private Locale heIl;
+
+    private Locale nnNo;
+
+    private Set<Locale> locales;
+
+    private String data;
+
+    @Setup
+    public void setup() throws IOException {
+        this.withoutAlternative = Locale.forLanguageTag("en-AU");
+        this.heIl = Locale.forLanguageTag("he-IL");
+        this.nnNo = Locale.forLanguageTag("nn-NO");
+
+        this.locales = Sets.ordered();
+        this.locales.addAll(LocaleSupport.availableLocales());
+
+        final StringBuilder data = new StringBuilder();
+        LocaleSupport.writeLocales(this.locales, StringDataInputDataOutput.output(data::append));
+        this.data = data.toString();
+    }
+
+    @Benchmark
+    public Optional<Locale> alternativesWithout() {
+        return LocaleSupport.alternatives(this.withoutAlternative, LocaleSupport.INCLUDE_NORWAY);
+    }
+
+    @Benchmark
+    public Optional<Locale> alternativesHeIl() {
+        return LocaleSupport.alternatives(this.heIl, LocaleSupport.INCLUDE_NORWAY);
+    }
+
+    @Benchmark
+    public Optional<Locale> alternativesNorway() {
+        return LocaleSupport.alternatives(this.nnNo, LocaleSupport.INCLUDE_NORWAY);
+    }
+
+    @Benchmark
+    public Set<Locale> readLocales() throws IOException {
+        return LocaleSupport.readLocales(StringDataInputDataOutput.input(this.data));
+    }
+
+    @Benchmark
+    public int writeLocales() throws IOException {
+        final StringBuilder data = new StringBuilder();
+        LocaleSupport.writeLocales(this.locales, StringDataInputDataOutput.output(data::append));
+        return data.length();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mimics a generated provider, where available locales are grouped by language into one {@link MultiLocaleValue}
+ * each, with a final catch all.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiLocaleValueBenchmark {
+
+    private List<MultiLocaleValue<String>> values;
+
+    private Locale first;
+
+    private Locale middle;
+
+    private Locale last;
+
+    @Setup
+    public void setup() {
+        final List<Locale> available = LocaleSupport.availableLocales();
+
+        final List<MultiLocaleValue<String>> values = Lists.array();
+        available.stream()
+            .collect(Collectors.groupingBy(Locale::getLanguage, Collectors.toSet()))
+            .forEach((language, locales) -> values.add(
+                value(language, locales)
+            ));
+        values.add(MultiLocaleValue.with("*", l -> true, LocaleSupport.INCLUDE_NORWAY));
+        this.values = values;
+
+        this.first = available.get(0);
+        this.middle = available.get(available.size() / 2);
+        this.last = available.get(available.size() - 1);
+    }
+
+    private static MultiLocaleValue<String> value(final String language,
+                                                  final Set<Locale> locales) {
+        return MultiLocaleValue.with(language, locales::contains, LocaleSupport.INCLUDE_NORWAY);
+    }
+
+    @Benchmark
+    public String findValueFirst() {
+        return MultiLocaleValue.findValue(this.values, this.first);
+    }
+
+    @Benchmark
+    public String findValueMiddle() {
+        return MultiLocaleValue.findValue(this.values, this.middle);
+    }
+
+    @Benchmark
+    public String findValueLast() {
+        return MultiLocaleValue.findValue(this.values, this.last);
+    }
+
+    @Benchmark
+    public String findValueRoot() {
+        return MultiLocaleValue.findValue(this.values, Locale.ROOT);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+/**
+ * A fast path for {@link Locale#forLanguageTag(String)} that handles the most common tag shapes, language,
+ * language-region, language-script and language-script-region, eg "en", "en-AU", "zh-Hant" and "zh-Hant-TW".
+ * <br>
+ * Subtags may be in any case and separated by either a dash or underscore. The shape of a tag is verified in a single
+ * pass without creating any substrings, and the subtags are then compared in place against the available
+ * {@link Locale locales} of the same language in the {@link LocaleIndex}.
+ * <br>
+ * Anything else, including variants, private use, extensions and tags without an available {@link Locale}, is left to
+ * the general parser.
+ */
+final class CommonLanguageTags {
+
+    /**
+     * Returns the available {@link Locale} for a tag with a common shape, or null if the general parser must be used.
+     */
+    static Locale forLanguageTag(final String languageTag,
+                                 final LocaleIndex index) {
+        final int languageEnd = languageEnd(languageTag);
+
+        Locale locale = null;
+        if (NOT_COMMON != languageEnd) {
+            final int length = languageTag.length();
+
+            // the shapes are identified by the length that follows the language, a script always has 4 letters and a
+            // region 2 letters or 3 digits.
+            final int scriptStart;
+            final int scriptEnd;
+            final int regionStart;
+            switch (length - languageEnd) {
+                case 0:
+                    scriptStart = length;
+                    scriptEnd = length;
+                    regionStart = length;
+                    break;
+                case 3:
+                case 4:
+                    scriptStart = languageEnd;
+                    scriptEnd = languageEnd;
+                    regionStart = languageEnd + 1;
+                    break;
+                case 5:
+                    scriptStart = languageEnd + 1;
+                    scriptEnd = length;
+                    regionStart = length;
+                    break;
+                default:
+                    scriptStart = languageEnd + 1;
+                    scriptEnd = languageEnd + 5;
+                    regionStart = scriptEnd + 1;
+                    break;
+            }
+
+            locale = index.common(
+                languageTag,
+                languageEnd,
+                scriptStart,
+                scriptEnd,
+                regionStart
+            );
+        }
+        return locale;
+    }
+
+    /**
+     * Returns true if the tag has one of the common shapes.
+     */
+    static boolean isCommon(final String languageTag) {
+        return NOT_COMMON != languageEnd(languageTag);
+    }
+
+    /**
+     * Returns the end of the language if the tag has one of the common shapes, otherwise {@link #NOT_COMMON}.
+     */
+    private static int languageEnd(final String languageTag) {
+        final int length = languageTag.length();
+
+        // language: 2 or 3 letters
+        final int languageEnd = letters(languageTag, 0, length);
+        boolean common = 2 == languageEnd || 3 == languageEnd;
+
+        int i = languageEnd;
+        if (common && i < length) {
+            common = isSeparator(languageTag.charAt(i)) && i + 1 < length;
+            i++;
+
+            // script: 4 letters
+            if (common && i + 4 == letters(languageTag, i, Math.min(i + 5, length))) {
+                i = i + 4;
+
+                if (i < length) {
+                    common = isSeparator(languageTag.charAt(i)) && i + 1 < length;
+                    i++;
+                }
+            }
+
+            // region: 2 letters or 3 digits
+            if (common && i < length) {
+                final int regionLength = length - i;
+                common = 2 == regionLength ?
+                    isLetter(languageTag.charAt(i)) && isLetter(languageTag.charAt(i + 1)) :
+                    3 == regionLength && isDigit(languageTag.charAt(i)) && isDigit(languageTag.charAt(i + 1)) && isDigit(languageTag.charAt(i + 2));
+            }
+        }
+
+        return common ?
+            languageEnd :
+            NOT_COMMON;
+    }
+
+    private final static int NOT_COMMON = -1;
+
+    /**
+     * Returns the index of the first character from start that is not a letter.
+     */
+    private static int letters(final String text,
+                               final int start,
+                               final int end) {
+        int i = start;
+        while (i < end && isLetter(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(final char c) {
+        return '-' == c || '_' == c;
+    }
+
+    /**
+     * Stop creation
+     */
+    private CommonLanguageTags() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+/**
+ * Thrown by {@link Locale.Builder} when given an ill-formed component, following the JDK message format.
+ */
+public class IllformedLocaleException extends RuntimeException {
+
+    public IllformedLocaleException() {
+        super();
+    }
+
+    public IllformedLocaleException(final String message) {
+        super(message);
+    }
+
+    public IllformedLocaleException(final String message,
+                                    final int errorIndex) {
+        super(message + (errorIndex < 0 ? "" : " [at index " + errorIndex + "]"));
+        this.errorIndex = errorIndex;
+    }
+
+    public int getErrorIndex() {
+        return this.errorIndex;
+    }
+
+    private int errorIndex = -1;
+
+    private static final long serialVersionUID = 1L;
+}
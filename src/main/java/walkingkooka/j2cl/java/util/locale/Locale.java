@@ -18,18 +18,23 @@
 package walkingkooka.j2cl.java.util.locale;
 
 
-import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
 import walkingkooka.j2cl.java.util.locale.generated.LocaleProvider;
+import walkingkooka.j2cl.java.util.locale.support.LanguageTagTable;
+import walkingkooka.j2cl.java.util.locale.support.LocaleMetrics;
+import walkingkooka.j2cl.java.util.locale.support.LocaleSupport;
+import walkingkooka.j2cl.java.util.locale.support.LruCache;
 import walkingkooka.j2cl.locale.LocaleAware;
 import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.CharacterConstant;
 
-import java.io.DataInput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * With some compiler package fixing, this will be the javascript JRE emulated java.util.Locale.
@@ -48,31 +53,51 @@ public final class Locale {
     }
 
     /**
-     * Lazily transforms the {@link LocaleProvider#DATA} into {@link Locale}.
+     * Lazily transforms the {@link LocaleProvider#DATA} into {@link Locale}, returning a new array for each call.
      */
     public static Locale[] getAvailableLocales() {
-        if (null == AVAILABLE_LOCALES) {
-            AVAILABLE_LOCALES = getAvailableLocales0();
-        }
-        return AVAILABLE_LOCALES.toArray(new Locale[AVAILABLE_LOCALES.size()]);
+        final List<Locale> availableLocales = availableLocales();
+        return availableLocales.toArray(new Locale[availableLocales.size()]);
     }
 
-    private static List<Locale> getAvailableLocales0() {
-        final DataInput data = StringDataInputDataOutput.input(LocaleProvider.DATA);
-        try {
-            return WalkingkookaLanguageTag.decode(data)
-                .stream()
-                .map(Locale::new)
-                .collect(Collectors.toList());
-        } catch (final IOException cause) {
-            throw new Error(cause);
-        }
+    /**
+     * Returns a read only view of the available {@link Locale locales} without copying, internal callers should
+     * prefer this over {@link #getAvailableLocales()}.
+     */
+    static List<Locale> availableLocales() {
+        return AvailableLocales.LOCALES;
+    }
+
+    /**
+     * The number of available {@link Locale locales}, which unlike {@link #availableLocales()} creates none of them.
+     */
+    static int availableLocaleCount() {
+        return index().size();
+    }
+
+    /**
+     * Holder for the lazily decoded available {@link Locale locales}.
+     * <br>
+     * On the JVM class initialization runs exactly once even when threads race, and safely publishes
+     * {@link #LOCALES} so later reads need no locking. J2CL translates this into a simple lazy static initializer.
+     */
+    private final static class AvailableLocales {
+        final static List<Locale> LOCALES = Collections.unmodifiableList(getAvailableLocales0());
     }
 
     /**
-     * Lazily set cache.
+     * Creating the full list creates every shard of the {@link LocaleIndex}.
      */
-    private static List<Locale> AVAILABLE_LOCALES;
+    private static List<Locale> getAvailableLocales0() {
+        final LocaleIndex index = index();
+        final int count = index.size();
+
+        final List<Locale> locales = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            locales.add(index.locale(i));
+        }
+        return locales;
+    }
 
     /**
      * <a href="https://en.wikipedia.org/wiki/IETF_language_tag"></a>
@@ -103,9 +128,19 @@ public final class Locale {
     public static Locale forLanguageTag(final String languageTag) {
         Objects.requireNonNull(languageTag, "languageTag");
 
-        return languageTag.isEmpty() ?
-            ROOT :
-            forLanguageTag0(WalkingkookaLanguageTag.parse(languageTag));
+        final Locale locale;
+        if (languageTag.isEmpty()) {
+            locale = ROOT;
+        } else {
+            final Locale common = CommonLanguageTags.forLanguageTag(
+                languageTag,
+                index()
+            );
+            locale = null != common ?
+                common :
+                forLanguageTag0(WalkingkookaLanguageTag.parse(languageTag));
+        }
+        return locale;
     }
 
     /**
@@ -114,7 +149,7 @@ public final class Locale {
      */
     private static Locale forLanguageTag0(final WalkingkookaLanguageTag tag) {
         return tag.country().isEmpty() ?
-            new Locale(tag) :
+            intern(tag) :
             forLanguageTag1(tag);
     }
 
@@ -123,6 +158,9 @@ public final class Locale {
      * where its language is the original "country" component.
      */
     private static Locale forLanguageTag1(final WalkingkookaLanguageTag tag) {
+        final LocaleMetrics metrics = LocaleSupport.metrics();
+        metrics.increment(LocaleMetrics.Counter.FOR_LANGUAGE_TAG_COUNTRY);
+
         // try find a language + country match OR a locale == $country
         final String language = tag.language();
         final String language2 = WalkingkookaLanguageTag.newToOldLanguage(language);
@@ -133,44 +171,128 @@ public final class Locale {
         final String script = tag.script();
         final String variant = tag.variant();
 
-        Locale locale = null;
+        Locale locale = index()
+            .find(
+                language,
+                language2,
+                country,
+                country2,
+                script,
+                variant
+            );
 
-        for (final Locale possible : getAvailableLocales()) {
-            final String possibleLanguage = possible.getLanguage();
-            final String possibleCountry = possible.getCountry();
-            final String possibleScript = possible.getScript();
-            final String possibleVariant = possible.getVariant();
+        if (null == locale) {
+            // old country becomes language, ignore variant and script.
+            metrics.increment(LocaleMetrics.Counter.FOR_LANGUAGE_TAG_COUNTRY_AS_LANGUAGE);
+            locale = intern(WalkingkookaLanguageTag.with(null, country2, "", variant, script));
+        }
 
-            if (language.equals(possibleLanguage) || language2.equals(possibleLanguage)) {
-                if (country.equals(possibleCountry) && script.equals(possibleScript) && variant.equals(possibleVariant)) {
-                    locale = possible;
-                    break; // also handles special cases like lang=HE/IW.
-                }
-            }
+        return locale;
+    }
 
-            if (country.equals(possibleLanguage) || country2.equals(possibleLanguage)) {
-                if (possibleScript.isEmpty() && possibleVariant.isEmpty()) {
-                    locale = possible; // continue searching...
-                }
-            }
+    private static LocaleIndex index() {
+        return Index.INDEX;
+    }
+
+    /**
+     * Holder for the {@link LocaleIndex}, which is built from the available locales, replacing a linear scan.
+     * Like {@link AvailableLocales} this is initialized once and safely published on the JVM.
+     */
+    private final static class Index {
+        final static LocaleIndex INDEX = LocaleIndex.with(languageTagTable());
+    }
+
+    /**
+     * {@link LanguageTagTable} supports both the original and compact forms of {@link LocaleProvider#DATA}.
+     */
+    private static LanguageTagTable languageTagTable() {
+        final LocaleMetrics metrics = LocaleSupport.metrics();
+        final long start = metrics.start();
+        try {
+            return LanguageTagTable.read(LocaleProvider.DATA);
+        } catch (final IOException cause) {
+            throw new Error(cause);
+        } finally {
+            metrics.time(LocaleMetrics.Timer.LANGUAGE_TAG_TABLE_READ, start);
         }
+    }
 
+    /**
+     * Returns the canonical {@link Locale} for the given {@link WalkingkookaLanguageTag}, preferring an available
+     * {@link Locale} and then any recently interned {@link Locale}.
+     */
+    private static Locale intern(final WalkingkookaLanguageTag tag) {
+        Locale locale = index()
+            .get(tag);
         if (null == locale) {
-            // old country becomes language, ignore variant and script.
-            locale = new Locale(WalkingkookaLanguageTag.with(null, country2, "", variant, script));
+            locale = INTERNED.computeIfAbsent(
+                tag,
+                Locale::new
+            );
         }
-
         return locale;
     }
 
+    /**
+     * The maximum number of {@link Locale locales} that are not available that will be interned.
+     */
+    private final static int INTERNED_MAX = 256;
+
+    /**
+     * Holds the canonical {@link Locale} for tags that are not available. Such tags may come from anywhere, so only
+     * the {@link #INTERNED_MAX} most recently used are kept.
+     */
+    private final static LruCache<WalkingkookaLanguageTag, Locale> INTERNED = LruCache.with(
+        INTERNED_MAX,
+        new InternedListener()
+    );
+
+    /**
+     * Reports each hit, miss and eviction of {@link #INTERNED} to the current {@link LocaleMetrics}, so its size may be
+     * tuned.
+     */
+    private final static class InternedListener implements LruCache.Listener {
+
+        @Override
+        public void hit() {
+            LocaleSupport.metrics()
+                .increment(LocaleMetrics.Counter.INTERNED_HIT);
+        }
+
+        @Override
+        public void miss() {
+            LocaleSupport.metrics()
+                .increment(LocaleMetrics.Counter.INTERNED_MISS);
+        }
+
+        @Override
+        public void eviction() {
+            LocaleSupport.metrics()
+                .increment(LocaleMetrics.Counter.INTERNED_EVICTION);
+        }
+    }
+
+    // @VisibleForTesting
+    static LruCache<WalkingkookaLanguageTag, Locale> interned() {
+        return INTERNED;
+    }
+
     /**
      * Retrieves the default assuming the {@link walkingkooka.j2cl.java.util.locale.annotationprocessor.LocaleProviderAnnotationProcessor} successfully generated the {@link LocaleProvider}.
      */
     public static Locale getDefault() {
-        if (null == defaultLocale) {
-            defaultLocale = forLanguageTag(LocaleProvider.DEFAULT_LOCALE);
-        }
-        return defaultLocale;
+        final Locale locale = defaultLocale;
+        return null != locale ?
+            locale :
+            DefaultLocale.LOCALE;
+    }
+
+    /**
+     * Holder for the {@link LocaleProvider#DEFAULT_LOCALE}, which is parsed once upon the first {@link #getDefault()}
+     * unless {@link #setDefault(Locale)} was called first.
+     */
+    private final static class DefaultLocale {
+        final static Locale LOCALE = forLanguageTag(LocaleProvider.DEFAULT_LOCALE);
     }
 
     /**
@@ -187,10 +309,11 @@ public final class Locale {
     }
 
     /**
-     * Holds the default Locale. Typically this will eventually be lazy initialized from a system property.
+     * Holds the default Locale set by {@link #setDefault(Locale)}, when null {@link DefaultLocale#LOCALE} is used.
+     * Volatile so a replacement is visible to all threads on the JVM, this has no cost in J2CL.
      */
     // @VisibleForTesting
-    static Locale defaultLocale;
+    static volatile Locale defaultLocale;
 
     public Locale(final String language) {
         this(language, "");
@@ -213,6 +336,13 @@ public final class Locale {
     public Locale(final WalkingkookaLanguageTag tag) {
         super();
         this.tag = tag;
+
+        // resolve components once, so getters are simple field reads.
+        this.language = WalkingkookaLanguageTag.newToOldLanguage(tag.language());
+        this.country = tag.country();
+        this.script = tag.script();
+        this.variant = tag.variant();
+        this.hashCode = tag.hashCode();
     }
 
     // java.util.Locale.................................................................................................
@@ -221,47 +351,504 @@ public final class Locale {
      * Returns the language which will always be in lower case.
      */
     public String getLanguage() {
-        return WalkingkookaLanguageTag.newToOldLanguage(this.tag.language());
+        return this.language;
     }
 
+    /**
+     * The language in its old form, eg "iw" rather than "he".
+     */
+    private final String language;
+
     /**
      * Returns the country which will always be in upper case.
      */
     public String getCountry() {
-        return this.tag.country();
+        return this.country;
     }
 
+    private final String country;
+
     /**
      * Returns the script which will always be in title case.
      */
     public String getScript() {
-        return this.tag.script();
+        return this.script;
     }
 
+    private final String script;
+
     public String getVariant() {
-        return this.tag.variant();
+        return this.variant;
     }
 
+    private final String variant;
+
     public String toLanguageTag() {
         return this.tag.toLanguageTag();
     }
 
-    private final WalkingkookaLanguageTag tag;
+    final WalkingkookaLanguageTag tag;
+
+    // filter & lookup..................................................................................................
+
+    public static List<Locale> filter(final List<LanguageRange> priorityList,
+                                      final Collection<Locale> locales) {
+        return filter(priorityList, locales, FilteringMode.AUTOSELECT_FILTERING);
+    }
+
+    /**
+     * Filters the given {@link Locale locales} using their language tags, returning the original {@link Locale} for
+     * each matched tag rather than parsing the tag again.
+     */
+    public static List<Locale> filter(final List<LanguageRange> priorityList,
+                                      final Collection<Locale> locales,
+                                      final FilteringMode mode) {
+        return LocaleTags.with(locales)
+            .filter(priorityList, mode);
+    }
+
+    public static List<String> filterTags(final List<LanguageRange> priorityList,
+                                          final Collection<String> tags) {
+        return filterTags(priorityList, tags, FilteringMode.AUTOSELECT_FILTERING);
+    }
+
+    public static List<String> filterTags(final List<LanguageRange> priorityList,
+                                          final Collection<String> tags,
+                                          final FilteringMode mode) {
+        return LocaleMatcher.filterTags(priorityList, tags, mode);
+    }
+
+    public static Locale lookup(final List<LanguageRange> priorityList,
+                                final Collection<Locale> locales) {
+        return LocaleTags.with(locales)
+            .lookup(priorityList);
+    }
+
+    public static String lookupTag(final List<LanguageRange> priorityList,
+                                   final Collection<String> tags) {
+        return LocaleMatcher.lookupTag(priorityList, tags);
+    }
+
+    /**
+     * The filtering modes defined by RFC 4647, with the same meaning as the JDK.
+     */
+    public enum FilteringMode {
+        AUTOSELECT_FILTERING,
+        EXTENDED_FILTERING,
+        IGNORE_EXTENDED_RANGES,
+        MAP_EXTENDED_RANGES,
+        REJECT_EXTENDED_RANGES
+    }
+
+    /**
+     * A language range from a user's priority list as defined by RFC 4647, with a weight between {@link #MIN_WEIGHT}
+     * and {@link #MAX_WEIGHT}. Ranges are always held in lower case.
+     */
+    public static final class LanguageRange {
+
+        public static final double MAX_WEIGHT = 1.0;
+
+        public static final double MIN_WEIGHT = 0.0;
+
+        public LanguageRange(final String range) {
+            this(range, MAX_WEIGHT);
+        }
+
+        public LanguageRange(final String range,
+                             final double weight) {
+            Objects.requireNonNull(range, "range");
+            if (weight < MIN_WEIGHT || weight > MAX_WEIGHT) {
+                throw new IllegalArgumentException("weight=" + weight);
+            }
+
+            final String lowerCase = range.toLowerCase();
+            if (isIllFormed(lowerCase)) {
+                throw new IllegalArgumentException("range=" + lowerCase);
+            }
+
+            this.range = lowerCase;
+            this.weight = weight;
+        }
+
+        /**
+         * The first subtag is 1 to 8 letters, the remainder 1 to 8 letters or digits, or any subtag may be a wildcard.
+         */
+        private static boolean isIllFormed(final String range) {
+            final int length = range.length();
+
+            boolean illFormed = false;
+            int start = 0;
+
+            while (false == illFormed) {
+                int end = range.indexOf('-', start);
+                if (-1 == end) {
+                    end = length;
+                }
+
+                illFormed = isSubtagIllFormed(range, start, end, 0 == start);
+                if (end == length) {
+                    break;
+                }
+                start = end + 1;
+            }
+
+            return illFormed;
+        }
+
+        private static boolean isSubtagIllFormed(final String range,
+                                                 final int start,
+                                                 final int end,
+                                                 final boolean first) {
+            final int length = end - start;
+
+            boolean illFormed = 0 == length || length > 8;
+            if (false == illFormed && false == (1 == length && '*' == range.charAt(start))) {
+                for (int i = start; i < end; i++) {
+                    final char c = range.charAt(i);
+                    if (c < 'a' || c > 'z') {
+                        if (first || c < '0' || c > '9') {
+                            illFormed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            return illFormed;
+        }
+
+        public String getRange() {
+            return this.range;
+        }
+
+        private final String range;
+
+        public double getWeight() {
+            return this.weight;
+        }
+
+        private final double weight;
+
+        public static List<LanguageRange> parse(final String ranges) {
+            return LocaleMatcher.parse(ranges);
+        }
+
+        public static List<LanguageRange> parse(final String ranges,
+                                                final Map<String, List<String>> map) {
+            return mapEquivalents(parse(ranges), map);
+        }
+
+        public static List<LanguageRange> mapEquivalents(final List<LanguageRange> priorityList,
+                                                         final Map<String, List<String>> map) {
+            return LocaleMatcher.mapEquivalents(priorityList, map);
+        }
+
+        @Override
+        public int hashCode() {
+            return 37 * this.range.hashCode() + Double.hashCode(this.weight);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other || other instanceof LanguageRange && this.equals0((LanguageRange) other);
+        }
+
+        private boolean equals0(final LanguageRange other) {
+            return this.range.equals(other.range) && this.weight == other.weight;
+        }
+
+        @Override
+        public String toString() {
+            return MAX_WEIGHT == this.weight ?
+                this.range :
+                this.range + ";q=" + this.weight;
+        }
+    }
+
+    // Builder..........................................................................................................
+
+    /**
+     * Builds a {@link Locale} from its language, script, region and variant. Each component is checked when it is set
+     * without using regular expressions, and {@link #build()} resolves directly to the canonical available
+     * {@link Locale} when one exists, without joining and parsing a language tag.
+     * <br>
+     * A {@link Builder} may be reused after {@link #clear()}. Extensions and unicode locale keywords are not supported.
+     */
+    public static final class Builder {
+
+        public Builder() {
+            super();
+            this.clear();
+        }
+
+        public Builder setLocale(final Locale locale) {
+            Objects.requireNonNull(locale, "locale");
+
+            String localeLanguage = locale.getLanguage();
+            final String localeRegion = locale.getCountry();
+            String localeVariant = locale.getVariant();
+
+            // the JDK converts these legacy locales whose variants are ill-formed.
+            if (2 == localeVariant.length()) {
+                switch (localeLanguage + "_" + localeRegion + "_" + localeVariant) {
+                    case "ja_JP_JP":
+                    case "th_TH_TH":
+                        localeVariant = "";
+                        break;
+                    case "no_NO_NY":
+                        localeLanguage = "nn";
+                        localeVariant = "";
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            // validate everything before replacing the current state.
+            final String language = language(localeLanguage);
+            final String script = script(locale.getScript());
+            final String region = region(localeRegion);
+            final String variant = variant(localeVariant);
+
+            this.language = language;
+            this.script = script;
+            this.region = region;
+            this.variant = variant;
+            return this;
+        }
+
+        public Builder setLanguageTag(final String languageTag) {
+            if (CharSequences.isNullOrEmpty(languageTag)) {
+                this.clear();
+            } else {
+                final WalkingkookaLanguageTag tag;
+                try {
+                    tag = WalkingkookaLanguageTag.parse(languageTag);
+                } catch (final IllegalArgumentException cause) {
+                    throw new IllformedLocaleException(cause.getMessage(), 0);
+                }
+
+                final String language = language(tag.language());
+                final String script = script(tag.script());
+                final String region = region(tag.country());
+                final String variant = variant(tag.variant());
+
+                this.language = language;
+                this.script = script;
+                this.region = region;
+                this.variant = variant;
+            }
+            return this;
+        }
+
+        public Builder setLanguage(final String language) {
+            this.language = language(language);
+            return this;
+        }
+
+        /**
+         * A language has 2 to 8 letters and is stored in lower case.
+         */
+        private static String language(final String language) {
+            final String checked;
+            if (CharSequences.isNullOrEmpty(language)) {
+                checked = "";
+            } else {
+                final int length = language.length();
+                if (length < 2 || length > 8 || false == isLetters(language, 0, length)) {
+                    throw new IllformedLocaleException("Ill-formed language: " + language, 0);
+                }
+                checked = language.toLowerCase();
+            }
+            return checked;
+        }
+
+        public Builder setScript(final String script) {
+            this.script = script(script);
+            return this;
+        }
+
+        /**
+         * A script has 4 letters and is stored in title case.
+         */
+        private static String script(final String script) {
+            final String checked;
+            if (CharSequences.isNullOrEmpty(script)) {
+                checked = "";
+            } else {
+                if (4 != script.length() || false == isLetters(script, 0, 4)) {
+                    throw new IllformedLocaleException("Ill-formed script: " + script, 0);
+                }
+                checked = isUpperCase(script.charAt(0)) && false == isUpperCase(script.charAt(1)) && false == isUpperCase(script.charAt(2)) && false == isUpperCase(script.charAt(3)) ?
+                    script :
+                    script.substring(0, 1).toUpperCase() + script.substring(1).toLowerCase();
+            }
+            return checked;
+        }
+
+        public Builder setRegion(final String region) {
+            this.region = region(region);
+            return this;
+        }
+
+        /**
+         * A region has 2 letters or 3 digits and is stored in upper case.
+         */
+        private static String region(final String region) {
+            final String checked;
+            if (CharSequences.isNullOrEmpty(region)) {
+                checked = "";
+            } else {
+                final int length = region.length();
+                if (false == (2 == length && isLetters(region, 0, 2) || 3 == length && isDigits(region, 0, 3))) {
+                    throw new IllformedLocaleException("Ill-formed region: " + region, 0);
+                }
+                checked = region.toUpperCase();
+            }
+            return checked;
+        }
+
+        public Builder setVariant(final String variant) {
+            this.variant = variant(variant);
+            return this;
+        }
+
+        /**
+         * Each variant subtag, separated by a dash or underscore, has 5 to 8 letters or digits, or 4 beginning with a
+         * digit. Dashes are replaced by underscores.
+         */
+        private static String variant(final String variant) {
+            final String checked;
+            if (CharSequences.isNullOrEmpty(variant)) {
+                checked = "";
+            } else {
+                final int length = variant.length();
+                int start = 0;
+
+                while (start <= length) {
+                    int end = start;
+                    while (end < length && false == isVariantSeparator(variant.charAt(end))) {
+                        end++;
+                    }
+
+                    final int subtagLength = end - start;
+                    final boolean wellFormed = subtagLength >= 5 && subtagLength <= 8 ?
+                        isLettersOrDigits(variant, start, end) :
+                        4 == subtagLength && isDigits(variant, start, start + 1) && isLettersOrDigits(variant, start + 1, end);
+                    if (false == wellFormed) {
+                        throw new IllformedLocaleException("Ill-formed variant: " + variant, start);
+                    }
+
+                    start = end + 1;
+                }
+
+                checked = variant.replace('-', '_');
+            }
+            return checked;
+        }
+
+        private static boolean isVariantSeparator(final char c) {
+            return '-' == c || '_' == c;
+        }
+
+        private static boolean isLetters(final String text,
+                                         final int start,
+                                         final int end) {
+            boolean letters = true;
+            for (int i = start; letters && i < end; i++) {
+                letters = isLetter(text.charAt(i));
+            }
+            return letters;
+        }
+
+        private static boolean isDigits(final String text,
+                                        final int start,
+                                        final int end) {
+            boolean digits = true;
+            for (int i = start; digits && i < end; i++) {
+                digits = isDigit(text.charAt(i));
+            }
+            return digits;
+        }
+
+        private static boolean isLettersOrDigits(final String text,
+                                                 final int start,
+                                                 final int end) {
+            boolean lettersOrDigits = true;
+            for (int i = start; lettersOrDigits && i < end; i++) {
+                final char c = text.charAt(i);
+                lettersOrDigits = isLetter(c) || isDigit(c);
+            }
+            return lettersOrDigits;
+        }
+
+        private static boolean isLetter(final char c) {
+            return (c >= 'a' && c <= 'z') || isUpperCase(c);
+        }
+
+        private static boolean isUpperCase(final char c) {
+            return c >= 'A' && c <= 'Z';
+        }
+
+        private static boolean isDigit(final char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        public Builder clear() {
+            this.language = "";
+            this.script = "";
+            this.region = "";
+            this.variant = "";
+            return this;
+        }
+
+        /**
+         * Returns the canonical {@link Locale} for the current components, which will be an available {@link Locale}
+         * when one exists. The {@link Builder} is unchanged and may be used again.
+         */
+        public Locale build() {
+            final String language = this.language;
+            final String script = this.script;
+            final String region = this.region;
+            final String variant = this.variant;
+
+            return language.isEmpty() && script.isEmpty() && region.isEmpty() && variant.isEmpty() ?
+                ROOT :
+                intern(
+                    WalkingkookaLanguageTag.with(
+                        null,
+                        language,
+                        region,
+                        variant,
+                        script
+                    )
+                );
+        }
+
+        private String language;
+        private String script;
+        private String region;
+        private String variant;
+    }
 
     // Object...........................................................................................................
 
     @Override
     public int hashCode() {
-        return this.tag.hashCode();
+        return this.hashCode;
     }
 
+    /**
+     * Precomputed so {@link Locale} is a cheap map key.
+     */
+    private final int hashCode;
+
     @Override
     public boolean equals(final Object other) {
         return this == other || other instanceof Locale && this.equals0((Locale) other);
     }
 
     private boolean equals0(final Locale other) {
-        return this.tag.equals(other.tag);
+        return this.hashCode == other.hashCode && this.tag.equals(other.tag);
     }
 
     /**
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import walkingkooka.j2cl.java.util.locale.support.LanguageTagTable;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An index over the available {@link Locale locales}, which replaces the linear scan that was previously performed by
+ * {@link Locale#forLanguageTag(String)} for every tag with a country.
+ * <br>
+ * The available locales are grouped into shards by language, and only the language of each tag is read up front. A
+ * shard creates its {@link Locale locales} and lookup maps upon first use, so resolving "en-AU" only creates the "en"
+ * locales. The {@link Locale} for each ordinal is created exactly once and is only reachable through its shard, so
+ * equal tags always resolve to the same instance and a partially created shard is never observed.
+ * <br>
+ * Lookups within a shard return the ordinal of the {@link Locale}, so the "first" or "last" match semantics of the
+ * original loop are preserved when both the old and new form of a language are tried.
+ */
+final class LocaleIndex {
+
+    /**
+     * Marker returned by the position lookups when no {@link Locale} was found.
+     */
+    private final static int NOT_FOUND = -1;
+
+    static LocaleIndex with(final LanguageTagTable table) {
+        return new LocaleIndex(table);
+    }
+
+    private LocaleIndex(final LanguageTagTable table) {
+        super();
+
+        final int count = table.size();
+
+        // only the language of each tag is read, no tags or locales are created.
+        final Map<String, Integer> languages = new HashMap<>();
+        final Map<String, Integer> commonLanguages = new TreeMap<>();
+        final int[] shardOrdinals = new int[count];
+        final int[] sizes = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            final String tagLanguage = table.language(i);
+            final String language = WalkingkookaLanguageTag.newToOldLanguage(tagLanguage);
+
+            Integer shard = languages.get(language);
+            if (null == shard) {
+                shard = languages.size();
+                languages.put(language, shard);
+                commonLanguages.put(language, shard);
+                commonLanguages.put(WalkingkookaLanguageTag.oldToNewLanguage(language), shard);
+            }
+            commonLanguages.put(tagLanguage, shard);
+            shardOrdinals[i] = shard;
+            sizes[shard]++;
+        }
+
+        final int shardCount = languages.size();
+        final int[][] ordinals = new int[shardCount][];
+        for (int i = 0; i < shardCount; i++) {
+            ordinals[i] = new int[sizes[i]];
+            sizes[i] = 0;
+        }
+
+        // ordinals within each shard are ascending.
+        final int[] shardPositions = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int shard = shardOrdinals[i];
+            final int position = sizes[shard]++;
+            ordinals[shard][position] = i;
+            shardPositions[i] = position;
+        }
+
+        this.table = table;
+        this.languages = languages;
+        this.commonLanguages = commonLanguages.keySet()
+            .toArray(new String[0]);
+        this.commonLanguageShards = new int[this.commonLanguages.length];
+
+        int i = 0;
+        for (final Integer shard : commonLanguages.values()) {
+            this.commonLanguageShards[i++] = shard;
+        }
+
+        this.shardOrdinals = shardOrdinals;
+        this.shardPositions = shardPositions;
+        this.ordinals = ordinals;
+        this.shards = new Shard[shardCount];
+    }
+
+    /**
+     * The number of available {@link Locale locales}.
+     */
+    int size() {
+        return this.shardOrdinals.length;
+    }
+
+    /**
+     * Returns the available {@link Locale} with the given ordinal, creating its shard if necessary.
+     */
+    Locale locale(final int ordinal) {
+        return this.shard(this.shardOrdinals[ordinal])
+            .locales[this.shardPositions[ordinal]];
+    }
+
+    /**
+     * Returns the available {@link Locale} with the given {@link WalkingkookaLanguageTag} or null.
+     */
+    Locale get(final WalkingkookaLanguageTag tag) {
+        final Shard shard = this.shard(
+            WalkingkookaLanguageTag.newToOldLanguage(tag.language())
+        );
+        return null != shard ?
+            shard.tags.get(tag) :
+            null;
+    }
+
+    /**
+     * Attempts to find a {@link Locale} with the given language (either form) and components, or failing that a
+     * {@link Locale} whose language is the given country. Null is returned if neither exists.
+     */
+    Locale find(final String language,
+                final String language2,
+                final String country,
+                final String country2,
+                final String script,
+                final String variant) {
+        final int languageCountryScriptVariant = first(
+            this.languageCountryScriptVariant(language, country, script, variant),
+            language.equals(language2) ?
+                NOT_FOUND :
+                this.languageCountryScriptVariant(language2, country, script, variant)
+        );
+
+        final int found = NOT_FOUND != languageCountryScriptVariant ?
+            languageCountryScriptVariant :
+            Math.max(
+                this.countryAsLanguage(country),
+                country.equals(country2) ?
+                    NOT_FOUND :
+                    this.countryAsLanguage(country2)
+            );
+
+        return NOT_FOUND != found ?
+            this.locale(found) :
+            null;
+    }
+
+    private int languageCountryScriptVariant(final String language,
+                                             final String country,
+                                             final String script,
+                                             final String variant) {
+        final Shard shard = this.shard(language);
+        return null != shard ?
+            position(
+                shard.countryScriptVariant.get(
+                    key(country, script, variant)
+                )
+            ) :
+            NOT_FOUND;
+    }
+
+    private int countryAsLanguage(final String country) {
+        final Shard shard = this.shard(country);
+        return null != shard ?
+            shard.countryAsLanguage :
+            NOT_FOUND;
+    }
+
+    private static int first(final int position,
+                             final int position2) {
+        return NOT_FOUND == position ?
+            position2 :
+            NOT_FOUND == position2 ?
+                position :
+                Math.min(position, position2);
+    }
+
+    private static int position(final Integer position) {
+        return null != position ?
+            position :
+            NOT_FOUND;
+    }
+
+    /**
+     * Subtags never contain the separator, so the joined key is unambiguous even when some components are empty.
+     */
+    private static String key(final String country,
+                              final String script,
+                              final String variant) {
+        return country + SEPARATOR + script + SEPARATOR + variant;
+    }
+
+    private final static char SEPARATOR = '-';
+
+    // common.........................................................................................................
+
+    /**
+     * Returns the first available {@link Locale} matching a tag with a common shape read by {@link CommonLanguageTags},
+     * or null if none was found. The subtags are compared in place ignoring case, absent subtags have equal start and end
+     * offsets and the region always ends the tag.
+     * <br>
+     * A tag with a region matches the first {@link Locale} with the same country and script for either form of the
+     * language, like {@link #find(String, String, String, String, String, String)}, while a tag without a region must
+     * also match the language exactly, like {@link #get(WalkingkookaLanguageTag)}.
+     */
+    Locale common(final String languageTag,
+                  final int languageEnd,
+                  final int scriptStart,
+                  final int scriptEnd,
+                  final int regionStart) {
+        final int commonLanguage = this.commonLanguage(languageTag, languageEnd);
+
+        Locale found = null;
+        if (NOT_FOUND != commonLanguage) {
+            final int regionEnd = languageTag.length();
+            final boolean region = regionStart < regionEnd;
+
+            for (final Locale possible : this.shard(this.commonLanguageShards[commonLanguage]).locales) {
+                final WalkingkookaLanguageTag tag = possible.tag;
+
+                if (tag.variant().isEmpty() &&
+                    matches(languageTag, scriptStart, scriptEnd, tag.script()) &&
+                    matches(languageTag, regionStart, regionEnd, tag.country()) &&
+                    (region || matches(languageTag, 0, languageEnd, tag.language()))) {
+                    found = possible;
+                    break;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Binary searches {@link #commonLanguages} for the language at the start of the tag.
+     */
+    private int commonLanguage(final String languageTag,
+                               final int languageEnd) {
+        final String[] languages = this.commonLanguages;
+
+        int low = 0;
+        int high = languages.length - 1;
+        int found = NOT_FOUND;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int compare = compareLanguage(languages[middle], languageTag, languageEnd);
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                found = middle;
+                break;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Compares a lower case language with the language at the start of the tag, ignoring the case of the tag.
+     */
+    private static int compareLanguage(final String language,
+                                       final String languageTag,
+                                       final int languageEnd) {
+        final int length = Math.min(language.length(), languageEnd);
+
+        int compare = 0;
+        for (int i = 0; 0 == compare && i < length; i++) {
+            compare = language.charAt(i) - Character.toLowerCase(languageTag.charAt(i));
+        }
+        return 0 != compare ?
+            compare :
+            language.length() - languageEnd;
+    }
+
+    private static boolean matches(final String languageTag,
+                                   final int start,
+                                   final int end,
+                                   final String subtag) {
+        final int length = end - start;
+        return subtag.length() == length &&
+            languageTag.regionMatches(true, start, subtag, 0, length);
+    }
+
+    // shards...........................................................................................................
+
+    /**
+     * Returns the {@link Shard} for the given language in its old form, or null if no available {@link Locale} has
+     * that language.
+     */
+    private Shard shard(final String language) {
+        final Integer shard = this.languages.get(language);
+        return null != shard ?
+            this.shard(shard) :
+            null;
+    }
+
+    private Shard shard(final int index) {
+        Shard shard = this.shards[index];
+        if (null == shard) {
+            // synchronized is ignored by J2CL. A Shard only has final fields so it is safely published even when read
+            // outside the lock.
+            synchronized (this.shards) {
+                shard = this.shards[index];
+                if (null == shard) {
+                    shard = this.createShard(this.ordinals[index]);
+                    this.shards[index] = shard;
+                }
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Returns the number of shards that have been created.
+     */
+    // @VisibleForTesting
+    int createdShardCount() {
+        int count = 0;
+        synchronized (this.shards) {
+            for (final Shard shard : this.shards) {
+                if (null != shard) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private Shard createShard(final int[] ordinals) {
+        final int count = ordinals.length;
+        final Locale[] locales = new Locale[count];
+        final Map<WalkingkookaLanguageTag, Locale> tags = new HashMap<>();
+        final Map<String, Integer> countryScriptVariant = new HashMap<>();
+        int countryAsLanguage = NOT_FOUND;
+
+        for (int i = 0; i < count; i++) {
+            final int ordinal = ordinals[i];
+            final Locale possible = new Locale(this.table.tag(ordinal));
+            locales[i] = possible;
+
+            tags.putIfAbsent(possible.tag, possible);
+
+            final String possibleScript = possible.getScript();
+            final String possibleVariant = possible.getVariant();
+
+            // first wins, the original loop would break upon the first match.
+            countryScriptVariant.putIfAbsent(
+                key(possible.getCountry(),
+                    possibleScript,
+                    possibleVariant),
+                ordinal
+            );
+
+            // last wins, the original loop would continue searching.
+            if (possibleScript.isEmpty() && possibleVariant.isEmpty()) {
+                countryAsLanguage = ordinal;
+            }
+        }
+
+        return new Shard(
+            locales,
+            tags,
+            countryScriptVariant,
+            countryAsLanguage
+        );
+    }
+
+    /**
+     * The available {@link Locale locales} sharing a language.
+     */
+    private final static class Shard {
+
+        Shard(final Locale[] locales,
+              final Map<WalkingkookaLanguageTag, Locale> tags,
+              final Map<String, Integer> countryScriptVariant,
+              final int countryAsLanguage) {
+            super();
+            this.locales = locales;
+            this.tags = tags;
+            this.countryScriptVariant = countryScriptVariant;
+            this.countryAsLanguage = countryAsLanguage;
+        }
+
+        /**
+         * The {@link Locale locales} of this shard in ascending ordinal order.
+         */
+        final Locale[] locales;
+
+        /**
+         * Maps each {@link WalkingkookaLanguageTag} to its canonical {@link Locale}.
+         */
+        final Map<WalkingkookaLanguageTag, Locale> tags;
+
+        /**
+         * Maps a country, script and variant to the ordinal of the first matching {@link Locale}.
+         */
+        final Map<String, Integer> countryScriptVariant;
+
+        /**
+         * The ordinal of the last {@link Locale} without a script or variant, or {@link #NOT_FOUND}.
+         */
+        final int countryAsLanguage;
+
+        @Override
+        public String toString() {
+            return this.tags.keySet().toString();
+        }
+    }
+
+    private final LanguageTagTable table;
+
+    /**
+     * Maps each language in its old form to its shard.
+     */
+    private final Map<String, Integer> languages;
+
+    /**
+     * Both forms of each language sorted, allowing a language to be found without creating a substring.
+     */
+    private final String[] commonLanguages;
+
+    /**
+     * The shard for each of {@link #commonLanguages}.
+     */
+    private final int[] commonLanguageShards;
+
+    /**
+     * The shard for each ordinal.
+     */
+    private final int[] shardOrdinals;
+
+    /**
+     * The position of each ordinal within its shard.
+     */
+    private final int[] shardPositions;
+
+    /**
+     * The ordinals belonging to each shard.
+     */
+    private final int[][] ordinals;
+
+    /**
+     * Shards are created upon first use.
+     */
+    private final Shard[] shards;
+
+    @Override
+    public String toString() {
+        return this.languages.keySet().toString();
+    }
+}
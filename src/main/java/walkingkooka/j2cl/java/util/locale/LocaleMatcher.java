@@ -0,0 +1,690 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import walkingkooka.j2cl.java.util.locale.Locale.FilteringMode;
+import walkingkooka.j2cl.java.util.locale.Locale.LanguageRange;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implements the RFC 4647 filtering and lookup behind {@link Locale#filterTags(List, Collection, FilteringMode)} and
+ * {@link Locale#lookupTag(List, Collection)}, following the JDK LocaleMatcher without using regular expressions.
+ * <br>
+ * The tags are lower cased and grouped by their primary language once for each matcher, so each range only visits the
+ * tags in its own bucket rather than every tag. The order of tags within a bucket is the original order, so results
+ * are identical to testing every tag. A matcher is created for each call except for the available
+ * {@link Locale locales}, whose matcher is built once and shared.
+ * <br>
+ * Only the language equivalents also honoured by {@link Locale}, "he" and "iw", "id" and "in", "yi" and "ji" are added
+ * by {@link #parse(String)}, the IANA region and variant equivalents are not available.
+ */
+final class LocaleMatcher {
+
+    private final static char SEPARATOR = '-';
+
+    private final static String WILDCARD = "*";
+
+    // parse............................................................................................................
+
+    static List<LanguageRange> parse(final String ranges) {
+        String text = ranges.replace(" ", "")
+            .toLowerCase();
+        if (text.startsWith("accept-language:")) {
+            text = text.substring(16);
+        }
+
+        final List<LanguageRange> list = new ArrayList<>();
+        final Set<String> added = new HashSet<>();
+
+        for (final String range : split(text, ',')) {
+            final String r;
+            final double w;
+
+            int index = range.indexOf(";q=");
+            if (-1 == index) {
+                r = range;
+                w = LanguageRange.MAX_WEIGHT;
+            } else {
+                r = range.substring(0, index);
+                index += 3;
+                try {
+                    w = Double.parseDouble(range.substring(index));
+                } catch (final RuntimeException cause) {
+                    throw new IllegalArgumentException("weight=\"" + range.substring(index) + "\" for language range \"" + r + "\"");
+                }
+                if (w < LanguageRange.MIN_WEIGHT || w > LanguageRange.MAX_WEIGHT) {
+                    throw new IllegalArgumentException("weight=" + w + " for language range \"" + r + "\". It must be between " + LanguageRange.MIN_WEIGHT + " and " + LanguageRange.MAX_WEIGHT + ".");
+                }
+            }
+
+            if (false == added.contains(r)) {
+                final LanguageRange languageRange = new LanguageRange(r, w);
+
+                // insert after all ranges with an equal or greater weight.
+                index = list.size();
+                for (int j = 0; j < list.size(); j++) {
+                    if (list.get(j).getWeight() < w) {
+                        index = j;
+                        break;
+                    }
+                }
+                list.add(index, languageRange);
+                added.add(r);
+
+                final String equivalent = equivalentForLanguage(r);
+                if (null != equivalent && false == added.contains(equivalent)) {
+                    list.add(index + 1, new LanguageRange(equivalent, w));
+                    added.add(equivalent);
+                }
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Returns the range with its language replaced by the other form, or null.
+     */
+    private static String equivalentForLanguage(final String range) {
+        final int end = range.indexOf(SEPARATOR);
+        final String language = -1 == end ?
+            range :
+            range.substring(0, end);
+
+        final String newLanguage = WalkingkookaLanguageTag.oldToNewLanguage(language);
+        final String equivalent = language.equals(newLanguage) ?
+            WalkingkookaLanguageTag.newToOldLanguage(language) :
+            newLanguage;
+
+        return language.equals(equivalent) ?
+            null :
+            equivalent + range.substring(language.length());
+    }
+
+    static List<LanguageRange> mapEquivalents(final List<LanguageRange> priorityList,
+                                              final Map<String, List<String>> map) {
+        final List<LanguageRange> list;
+
+        if (priorityList.isEmpty()) {
+            list = new ArrayList<>();
+        } else {
+            if (null == map || map.isEmpty()) {
+                list = new ArrayList<>(priorityList);
+            } else {
+                final Map<String, String> keys = new HashMap<>();
+                for (final String key : map.keySet()) {
+                    keys.put(key.toLowerCase(), key);
+                }
+
+                list = new ArrayList<>();
+                for (final LanguageRange languageRange : priorityList) {
+                    final String range = languageRange.getRange();
+                    String r = range;
+                    boolean equivalent = false;
+
+                    while (false == r.isEmpty()) {
+                        if (keys.containsKey(r)) {
+                            equivalent = true;
+
+                            final List<String> equivalents = map.get(keys.get(r));
+                            if (null != equivalents) {
+                                final String suffix = range.substring(r.length());
+                                for (final String e : equivalents) {
+                                    list.add(new LanguageRange(e.toLowerCase() + suffix, languageRange.getWeight()));
+                                }
+                            }
+                            break;
+                        }
+
+                        final int index = r.lastIndexOf(SEPARATOR);
+                        if (-1 == index) {
+                            break;
+                        }
+                        r = r.substring(0, index);
+                    }
+
+                    if (false == equivalent) {
+                        list.add(languageRange);
+                    }
+                }
+            }
+        }
+
+        return list;
+    }
+
+    // filter...........................................................................................................
+
+    static List<String> filterTags(final List<LanguageRange> priorityList,
+                                   final Collection<String> tags,
+                                   final FilteringMode mode) {
+        return priorityList.isEmpty() || tags.isEmpty() ?
+            new ArrayList<>() :
+            with(tags).filterTags(priorityList, mode);
+    }
+
+    /**
+     * Filters the tags of this matcher, which may be reused for any number of priority lists.
+     */
+    List<String> filterTags(final List<LanguageRange> priorityList,
+                            final FilteringMode mode) {
+        final List<String> filtered;
+
+        if (priorityList.isEmpty() || 0 == this.tags.length) {
+            filtered = new ArrayList<>();
+        } else {
+            if (FilteringMode.EXTENDED_FILTERING == mode) {
+                filtered = this.filterExtended(priorityList);
+            } else {
+                List<LanguageRange> basic = new ArrayList<>();
+
+                for (final LanguageRange languageRange : priorityList) {
+                    final String range = languageRange.getRange();
+
+                    if (range.startsWith("*-") || range.contains("-*")) {
+                        if (FilteringMode.AUTOSELECT_FILTERING == mode) {
+                            basic = null;
+                            break;
+                        }
+                        if (FilteringMode.MAP_EXTENDED_RANGES == mode) {
+                            basic.add(
+                                new LanguageRange(
+                                    '*' == range.charAt(0) ?
+                                        WILDCARD :
+                                        range.replace("-*", ""),
+                                    languageRange.getWeight()
+                                )
+                            );
+                        } else if (FilteringMode.REJECT_EXTENDED_RANGES == mode) {
+                            throw new IllegalArgumentException("An extended range \"" + range + "\" found in REJECT_EXTENDED_RANGES mode.");
+                        }
+                        // IGNORE_EXTENDED_RANGES
+                    } else {
+                        basic.add(languageRange);
+                    }
+                }
+
+                filtered = null != basic ?
+                    this.filterBasic(basic) :
+                    this.filterExtended(priorityList);
+            }
+        }
+
+        return filtered;
+    }
+
+    private List<String> filterBasic(final List<LanguageRange> priorityList) {
+        final int split = splitRanges(priorityList);
+        final List<LanguageRange> nonZero = priorityList.subList(0, split);
+        final List<LanguageRange> zero = priorityList.subList(split, priorityList.size());
+
+        final List<String> list = new ArrayList<>();
+        final Set<String> added = new HashSet<>();
+
+        for (final LanguageRange languageRange : nonZero) {
+            final String range = languageRange.getRange();
+            if (WILDCARD.equals(range)) {
+                return this.removeTagsMatchingBasic(zero);
+            }
+
+            for (final int i : this.candidates(range)) {
+                final String lowerCase = this.lowerCase[i];
+
+                if (matchesBasic(range, lowerCase) && false == added.contains(lowerCase) && false == matchesBasic(zero, lowerCase)) {
+                    list.add(this.tags[i]); // preserve the case of the input tag
+                    added.add(lowerCase);
+                }
+            }
+        }
+
+        return list;
+    }
+
+    private List<String> removeTagsMatchingBasic(final List<LanguageRange> zero) {
+        final List<String> list = new ArrayList<>();
+        final Set<String> added = new HashSet<>();
+
+        final int count = this.tags.length;
+        for (int i = 0; i < count; i++) {
+            final String lowerCase = this.lowerCase[i];
+
+            if (false == matchesBasic(zero, lowerCase) && added.add(lowerCase)) {
+                list.add(this.tags[i]);
+            }
+        }
+
+        return list;
+    }
+
+    private static boolean matchesBasic(final List<LanguageRange> zero,
+                                        final String lowerCase) {
+        boolean matches = false;
+
+        for (final LanguageRange languageRange : zero) {
+            final String range = languageRange.getRange();
+            if (WILDCARD.equals(range) || matchesBasic(range, lowerCase)) {
+                matches = true;
+                break;
+            }
+        }
+
+        return matches;
+    }
+
+    private static boolean matchesBasic(final String range,
+                                        final String lowerCase) {
+        final int length = range.length();
+        return lowerCase.startsWith(range) &&
+            (lowerCase.length() == length || SEPARATOR == lowerCase.charAt(length));
+    }
+
+    private List<String> filterExtended(final List<LanguageRange> priorityList) {
+        final int split = splitRanges(priorityList);
+        final List<LanguageRange> nonZero = priorityList.subList(0, split);
+        final List<LanguageRange> zero = priorityList.subList(split, priorityList.size());
+
+        final List<String> list = new ArrayList<>();
+        final Set<String> added = new HashSet<>();
+
+        for (final LanguageRange languageRange : nonZero) {
+            final String range = languageRange.getRange();
+            if (WILDCARD.equals(range)) {
+                return this.removeTagsMatchingExtended(zero);
+            }
+
+            final String[] rangeSubtags = split(range, SEPARATOR);
+
+            for (final int i : this.candidates(range)) {
+                final String lowerCase = this.lowerCase[i];
+
+                if (matchesExtended(rangeSubtags, this.subtags(i)) && false == added.contains(lowerCase) && false == this.matchesExtended(zero, i)) {
+                    list.add(this.tags[i]);
+                    added.add(lowerCase);
+                }
+            }
+        }
+
+        return list;
+    }
+
+    private List<String> removeTagsMatchingExtended(final List<LanguageRange> zero) {
+        final List<String> list = new ArrayList<>();
+        final Set<String> added = new HashSet<>();
+
+        final int count = this.tags.length;
+        for (int i = 0; i < count; i++) {
+            final String lowerCase = this.lowerCase[i];
+
+            if (false == this.matchesExtended(zero, i) && added.add(lowerCase)) {
+                list.add(this.tags[i]);
+            }
+        }
+
+        return list;
+    }
+
+    private boolean matchesExtended(final List<LanguageRange> zero,
+                                    final int tag) {
+        boolean matches = false;
+
+        for (final LanguageRange languageRange : zero) {
+            if (matchesExtended(split(languageRange.getRange(), SEPARATOR), this.subtags(tag))) {
+                matches = true;
+                break;
+            }
+        }
+
+        return matches;
+    }
+
+    private static boolean matchesExtended(final String[] rangeSubtags,
+                                           final String[] tagSubtags) {
+        boolean matches = false;
+
+        if (WILDCARD.equals(rangeSubtags[0]) || rangeSubtags[0].equals(tagSubtags[0])) {
+            int rangeIndex = 1;
+            int tagIndex = 1;
+
+            while (rangeIndex < rangeSubtags.length && tagIndex < tagSubtags.length) {
+                if (WILDCARD.equals(rangeSubtags[rangeIndex])) {
+                    rangeIndex++;
+                } else if (rangeSubtags[rangeIndex].equals(tagSubtags[tagIndex])) {
+                    rangeIndex++;
+                    tagIndex++;
+                } else if (1 == tagSubtags[tagIndex].length() && false == WILDCARD.equals(tagSubtags[tagIndex])) {
+                    break;
+                } else {
+                    tagIndex++;
+                }
+            }
+
+            matches = rangeSubtags.length == rangeIndex;
+        }
+
+        return matches;
+    }
+
+    // lookup...........................................................................................................
+
+    static String lookupTag(final List<LanguageRange> priorityList,
+                            final Collection<String> tags) {
+        return priorityList.isEmpty() || tags.isEmpty() ?
+            null :
+            with(tags).lookupTag(priorityList);
+    }
+
+    /**
+     * Looks up the best tag of this matcher, which may be reused for any number of priority lists.
+     */
+    String lookupTag(final List<LanguageRange> priorityList) {
+        String found = null;
+
+        if (false == priorityList.isEmpty() && 0 != this.tags.length) {
+            final int split = splitRanges(priorityList);
+            final List<LanguageRange> nonZero = priorityList.subList(0, split);
+            final List<LanguageRange> zero = priorityList.subList(split, priorityList.size());
+
+            Exit:
+            for (final LanguageRange languageRange : nonZero) {
+                String range = languageRange.getRange();
+
+                // the wildcard range is ignored by lookup.
+                if (WILDCARD.equals(range)) {
+                    continue;
+                }
+
+                while (false == range.isEmpty()) {
+                    for (final int i : this.candidates(range)) {
+                        final String lowerCase = this.lowerCase[i];
+
+                        if (matchesLookup(range, lowerCase) && false == matchesLookup(zero, lowerCase)) {
+                            found = this.tags[i]; // preserve the case of the input tag
+                            break Exit;
+                        }
+                    }
+
+                    range = truncateRange(range);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    private static boolean matchesLookup(final List<LanguageRange> zero,
+                                         final String lowerCase) {
+        boolean matches = false;
+
+        Exit:
+        for (final LanguageRange languageRange : zero) {
+            String range = languageRange.getRange();
+
+            // the wildcard range is ignored by lookup.
+            if (WILDCARD.equals(range)) {
+                continue;
+            }
+
+            while (false == range.isEmpty()) {
+                if (matchesLookup(range, lowerCase)) {
+                    matches = true;
+                    break Exit;
+                }
+                range = truncateRange(range);
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Matches the entire tag against the range where each wildcard matches any run of letters and digits, replacing
+     * the JDK regular expression where each wildcard becomes {@code \p{Alnum}*}.
+     */
+    // @VisibleForTesting
+    static boolean matchesLookup(final String range,
+                                 final String lowerCase) {
+        return matchesLookup(range, 0, lowerCase, 0);
+    }
+
+    private static boolean matchesLookup(final String range,
+                                         final int rangeIndex,
+                                         final String lowerCase,
+                                         final int tagIndex) {
+        final int rangeLength = range.length();
+        final int tagLength = lowerCase.length();
+
+        int r = rangeIndex;
+        int t = tagIndex;
+
+        while (r < rangeLength) {
+            final char c = range.charAt(r);
+            r++;
+
+            if ('*' == c) {
+                int end = t;
+                while (true) {
+                    if (matchesLookup(range, r, lowerCase, end)) {
+                        return true;
+                    }
+                    if (end >= tagLength || false == isLetterOrDigit(lowerCase.charAt(end))) {
+                        return false;
+                    }
+                    end++;
+                }
+            }
+
+            if (t >= tagLength || c != lowerCase.charAt(t)) {
+                return false;
+            }
+            t++;
+        }
+
+        return t == tagLength;
+    }
+
+    private static boolean isLetterOrDigit(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Removes the last subtag, and then any singleton that is left at the end.
+     */
+    // @VisibleForTesting
+    static String truncateRange(final String range) {
+        String truncated;
+
+        int index = range.lastIndexOf(SEPARATOR);
+        if (index >= 0) {
+            truncated = range.substring(0, index);
+
+            index = truncated.lastIndexOf(SEPARATOR);
+            if (index >= 0 && index == truncated.length() - 2 && '*' != truncated.charAt(index + 1)) {
+                truncated = truncated.substring(0, index);
+            }
+        } else {
+            truncated = "";
+        }
+
+        return truncated;
+    }
+
+    /**
+     * Returns the index of the first range with a zero weight, or the number of ranges.
+     */
+    private static int splitRanges(final List<LanguageRange> priorityList) {
+        final int size = priorityList.size();
+
+        int index = 0;
+        while (index < size && 0 != priorityList.get(index).getWeight()) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Splits the text like {@link String#split(String)} with a single character, trailing empty strings are removed.
+     */
+    // @VisibleForTesting
+    static String[] split(final String text,
+                          final char separator) {
+        final List<String> tokens = new ArrayList<>();
+
+        int start = 0;
+        int end = text.indexOf(separator);
+
+        if (-1 == end) {
+            tokens.add(text);
+        } else {
+            while (-1 != end) {
+                tokens.add(text.substring(start, end));
+                start = end + 1;
+                end = text.indexOf(separator, start);
+            }
+            tokens.add(text.substring(start));
+
+            int last = tokens.size() - 1;
+            while (last >= 0 && tokens.get(last).isEmpty()) {
+                tokens.remove(last);
+                last--;
+            }
+        }
+
+        return tokens.toArray(new String[tokens.size()]);
+    }
+
+    // LocaleMatcher....................................................................................................
+
+    /**
+     * Creates a {@link LocaleMatcher} holding a copy of the given tags.
+     */
+    static LocaleMatcher with(final Collection<String> tags) {
+        return new LocaleMatcher(tags);
+    }
+
+    private LocaleMatcher(final Collection<String> tags) {
+        super();
+
+        final int count = tags.size();
+        this.tags = tags.toArray(new String[count]);
+        this.lowerCase = new String[count];
+        this.subtags = new String[count][];
+
+        final Map<String, List<Integer>> languages = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            final String lowerCase = this.tags[i].toLowerCase();
+            this.lowerCase[i] = lowerCase;
+
+            final String language = language(lowerCase);
+            List<Integer> bucket = languages.get(language);
+            if (null == bucket) {
+                bucket = new ArrayList<>();
+                languages.put(language, bucket);
+            }
+            bucket.add(i);
+        }
+
+        final Map<String, int[]> buckets = new HashMap<>();
+        for (final Map.Entry<String, List<Integer>> languageAndTags : languages.entrySet()) {
+            final List<Integer> indices = languageAndTags.getValue();
+            final int[] bucket = new int[indices.size()];
+            for (int i = 0; i < bucket.length; i++) {
+                bucket[i] = indices.get(i);
+            }
+            buckets.put(languageAndTags.getKey(), bucket);
+        }
+        this.buckets = buckets;
+
+        final int[] all = new int[count];
+        for (int i = 0; i < count; i++) {
+            all[i] = i;
+        }
+        this.all = all;
+    }
+
+    /**
+     * Returns the indices of the tags that could match the given range, which are those with the same primary
+     * language unless the range begins with a wildcard.
+     */
+    private int[] candidates(final String range) {
+        final String language = language(range);
+
+        final int[] candidates;
+        if (WILDCARD.equals(language)) {
+            candidates = this.all;
+        } else {
+            final int[] bucket = this.buckets.get(language);
+            candidates = null != bucket ?
+                bucket :
+                NONE;
+        }
+        return candidates;
+    }
+
+    private final static int[] NONE = new int[0];
+
+    private static String language(final String tagOrRange) {
+        final int end = tagOrRange.indexOf(SEPARATOR);
+        return -1 == end ?
+            tagOrRange :
+            tagOrRange.substring(0, end);
+    }
+
+    /**
+     * Lazily splits the lower cased tag into subtags, only extended filtering uses subtags.
+     */
+    private String[] subtags(final int index) {
+        // synchronized is ignored by J2CL. A matcher may be shared, see Locale#lookup(List, Collection)
+        synchronized (this.subtags) {
+            String[] subtags = this.subtags[index];
+            if (null == subtags) {
+                subtags = split(this.lowerCase[index], SEPARATOR);
+                if (0 == subtags.length) {
+                    subtags = new String[]{""};
+                }
+                this.subtags[index] = subtags;
+            }
+            return subtags;
+        }
+    }
+
+    private final String[] tags;
+
+    private final String[] lowerCase;
+
+    private final String[][] subtags;
+
+    /**
+     * Maps each lower cased primary language to the indices of its tags in their original order.
+     */
+    private final Map<String, int[]> buckets;
+
+    private final int[] all;
+
+    @Override
+    public String toString() {
+        return this.buckets.keySet().toString();
+    }
+}
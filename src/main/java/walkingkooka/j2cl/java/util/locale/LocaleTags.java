@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import walkingkooka.j2cl.java.util.locale.Locale.FilteringMode;
+import walkingkooka.j2cl.java.util.locale.Locale.LanguageRange;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The language tags of some {@link Locale locales} with their {@link LocaleMatcher}, allowing
+ * {@link Locale#filter(List, Collection, FilteringMode)} and {@link Locale#lookup(List, Collection)} to return the
+ * original {@link Locale} for each matched tag rather than parsing the tag again.
+ * <br>
+ * The tags and matcher of the available {@link Locale locales} are built once and shared. They are used when the given
+ * {@link Collection} holds exactly the available instances in the same order, such as the list returned by
+ * LocaleSupport#availableLocales(), which costs an identity comparison for each element rather than a tag for each
+ * element and a new matcher.
+ */
+final class LocaleTags {
+
+    static LocaleTags with(final Collection<Locale> locales) {
+        return isAvailable(locales) ?
+            Available.TAGS :
+            new LocaleTags(locales);
+    }
+
+    /**
+     * Tests if the given {@link Locale locales} are the available {@link Locale locales}. The sizes are compared first
+     * so other collections do not create the available {@link Locale locales}.
+     */
+    private static boolean isAvailable(final Collection<Locale> locales) {
+        boolean available = Locale.availableLocaleCount() == locales.size();
+
+        if (available) {
+            final List<Locale> availableLocales = Locale.availableLocales();
+            if (availableLocales != locales) {
+                int i = 0;
+                for (final Locale locale : locales) {
+                    if (availableLocales.get(i) != locale) {
+                        available = false;
+                        break;
+                    }
+                    i++;
+                }
+            }
+        }
+
+        return available;
+    }
+
+    /**
+     * Holder for the tags of the available {@link Locale locales}, which are initialized once and safely published on
+     * the JVM.
+     */
+    private final static class Available {
+        final static LocaleTags TAGS = new LocaleTags(Locale.availableLocales());
+    }
+
+    private LocaleTags(final Collection<Locale> locales) {
+        super();
+
+        final Map<String, Locale> tagToLocale = new HashMap<>();
+        final List<String> tags = new ArrayList<>(locales.size());
+        for (final Locale locale : locales) {
+            final String tag = locale.toLanguageTag();
+            tags.add(tag);
+            tagToLocale.putIfAbsent(tag, locale);
+        }
+
+        this.tagToLocale = tagToLocale;
+        this.matcher = LocaleMatcher.with(tags);
+    }
+
+    List<Locale> filter(final List<LanguageRange> priorityList,
+                        final FilteringMode mode) {
+        final List<String> filteredTags = this.matcher.filterTags(priorityList, mode);
+
+        final List<Locale> filtered = new ArrayList<>(filteredTags.size());
+        for (final String tag : filteredTags) {
+            filtered.add(this.tagToLocale.get(tag));
+        }
+        return filtered;
+    }
+
+    Locale lookup(final List<LanguageRange> priorityList) {
+        final String tag = this.matcher.lookupTag(priorityList);
+        return null != tag ?
+            this.tagToLocale.get(tag) :
+            null;
+    }
+
+    private final Map<String, Locale> tagToLocale;
+
+    private final LocaleMatcher matcher;
+
+    @Override
+    public String toString() {
+        return this.tagToLocale.keySet().toString();
+    }
+}
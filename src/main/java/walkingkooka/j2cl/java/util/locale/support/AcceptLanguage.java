@@ -0,0 +1,291 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Locale.LanguageRange;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Parses HTTP Accept-Language header values such as {@code en-AU,en;q=0.9,fr;q=0.5} into weighted
+ * {@link LanguageRange language ranges}, and resolves headers to the best matching available {@link Locale}.
+ * <br>
+ * Parsing is a single pass over the characters without regular expressions or {@link String#split(String)}. Unlike
+ * {@link LanguageRange#parse(String)} malformed entries are skipped rather than failing the entire header, as headers
+ * come from untrusted clients.
+ */
+public final class AcceptLanguage implements PublicStaticHelper {
+
+    /**
+     * Returns the ranges from the given header, ordered by descending weight, where ranges with equal weights keep
+     * their header order. Duplicate ranges are ignored.
+     */
+    public static List<LanguageRange> parse(final String header) {
+        Objects.requireNonNull(header, "header");
+
+        final List<LanguageRange> ranges = new ArrayList<>();
+        final int length = header.length();
+        int i = 0;
+
+        while (i < length) {
+            i = skipWhitespaceOrComma(header, i);
+            if (i == length) {
+                break;
+            }
+
+            final int rangeStart = i;
+            while (i < length && false == isDelimiter(header.charAt(i))) {
+                i++;
+            }
+            final int rangeEnd = i;
+
+            boolean valid = isRange(header, rangeStart, rangeEnd);
+            int weight = MAX_WEIGHT;
+
+            i = skipWhitespace(header, i);
+
+            // parameters, only q is understood.
+            while (i < length && ';' == header.charAt(i)) {
+                i = skipWhitespace(header, i + 1);
+
+                final boolean q = i + 1 < length && ('q' == header.charAt(i) || 'Q' == header.charAt(i)) && '=' == header.charAt(i + 1);
+                final int parameterStart = q ? i + 2 : i;
+
+                i = parameterStart;
+                while (i < length && false == isDelimiter(header.charAt(i))) {
+                    i++;
+                }
+
+                if (q) {
+                    weight = weight(header, parameterStart, i);
+                    valid &= weight >= 0;
+                }
+
+                i = skipWhitespace(header, i);
+            }
+
+            // anything else before the next comma makes the entry malformed.
+            if (i < length && ',' != header.charAt(i)) {
+                valid = false;
+                while (i < length && ',' != header.charAt(i)) {
+                    i++;
+                }
+            }
+
+            if (valid) {
+                add(
+                    header.substring(rangeStart, rangeEnd),
+                    weight,
+                    ranges
+                );
+            }
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Inserts the range after all ranges with an equal or greater weight, ignoring duplicates.
+     */
+    private static void add(final String range,
+                            final int weight,
+                            final List<LanguageRange> ranges) {
+        final double w = weight / (double) MAX_WEIGHT;
+        final int count = ranges.size();
+
+        int insert = count;
+        boolean duplicate = false;
+
+        for (int i = 0; i < count; i++) {
+            final LanguageRange possible = ranges.get(i);
+            if (possible.getRange().equalsIgnoreCase(range)) {
+                duplicate = true;
+                break;
+            }
+            if (insert == count && possible.getWeight() < w) {
+                insert = i;
+            }
+        }
+
+        if (false == duplicate) {
+            ranges.add(insert, new LanguageRange(range, w));
+        }
+    }
+
+    /**
+     * A range is a wildcard, or a first subtag of 1 to 8 letters followed by subtags of 1 to 8 letters or digits.
+     */
+    // @VisibleForTesting
+    static boolean isRange(final String text,
+                           final int start,
+                           final int end) {
+        boolean range = end > start;
+        int subtagStart = start;
+
+        while (range && subtagStart <= end) {
+            int subtagEnd = text.indexOf('-', subtagStart);
+            if (-1 == subtagEnd || subtagEnd > end) {
+                subtagEnd = end;
+            }
+
+            range = isSubtag(text, subtagStart, subtagEnd, start == subtagStart);
+            subtagStart = subtagEnd + 1;
+        }
+
+        return range;
+    }
+
+    private static boolean isSubtag(final String text,
+                                    final int start,
+                                    final int end,
+                                    final boolean first) {
+        final int length = end - start;
+        boolean subtag = length >= 1 && length <= 8;
+
+        if (subtag && false == (1 == length && '*' == text.charAt(start))) {
+            for (int i = start; subtag && i < end; i++) {
+                final char c = text.charAt(i);
+                subtag = isLetter(c) || (false == first && isDigit(c));
+            }
+        }
+
+        return subtag;
+    }
+
+    /**
+     * Parses a qvalue into thousandths, returning -1 when it is invalid.
+     * <pre>
+     * qvalue = ( "0" [ "." 0*3DIGIT ] ) / ( "1" [ "." 0*3("0") ] )
+     * </pre>
+     */
+    // @VisibleForTesting
+    static int weight(final String text,
+                      final int start,
+                      final int end) {
+        int weight = -1;
+
+        final int length = end - start;
+        if (length >= 1 && length <= 5) {
+            final char first = text.charAt(start);
+            if ('0' == first || '1' == first) {
+                weight = '1' == first ? MAX_WEIGHT : 0;
+
+                if (length > 1) {
+                    if ('.' != text.charAt(start + 1)) {
+                        weight = -1;
+                    } else {
+                        int scale = 100;
+                        for (int i = start + 2; i < end; i++) {
+                            final char c = text.charAt(i);
+                            if (false == isDigit(c) || ('1' == first && '0' != c)) {
+                                weight = -1;
+                                break;
+                            }
+                            weight += (c - '0') * scale;
+                            scale = scale / 10;
+                        }
+                    }
+                }
+            }
+        }
+
+        return weight;
+    }
+
+    private final static int MAX_WEIGHT = 1000;
+
+    private static int skipWhitespace(final String text,
+                                      final int start) {
+        int i = start;
+        while (i < text.length() && isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespaceOrComma(final String text,
+                                             final int start) {
+        int i = start;
+        while (i < text.length() && (isWhitespace(text.charAt(i)) || ',' == text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDelimiter(final char c) {
+        return ',' == c || ';' == c || isWhitespace(c);
+    }
+
+    private static boolean isWhitespace(final char c) {
+        return ' ' == c || '\t' == c;
+    }
+
+    private static boolean isLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // bestMatch........................................................................................................
+
+    /**
+     * Returns the available {@link Locale} that best matches the header using {@link Locale#lookup(List, java.util.Collection)}.
+     * Results are cached by header, so a repeated header is resolved with a single hash lookup.
+     */
+    public static Optional<Locale> bestMatch(final String header) {
+        Objects.requireNonNull(header, "header");
+
+        return CACHE.computeIfAbsent(
+            header,
+            AcceptLanguage::bestMatch0
+        );
+    }
+
+    private static Optional<Locale> bestMatch0(final String header) {
+        final List<LanguageRange> ranges = parse(header);
+
+        return ranges.isEmpty() ?
+            Optional.empty() :
+            Optional.ofNullable(
+                Locale.lookup(
+                    ranges,
+                    LocaleSupport.availableLocales()
+                )
+            );
+    }
+
+    /**
+     * The maximum number of distinct headers whose best match is cached.
+     */
+    private final static int CACHE_MAX = 512;
+
+    private final static LruCache<String, Optional<Locale>> CACHE = LruCache.with(CACHE_MAX);
+
+    /**
+     * Stop creation
+     */
+    private AcceptLanguage() {
+        throw new UnsupportedOperationException();
+    }
+}
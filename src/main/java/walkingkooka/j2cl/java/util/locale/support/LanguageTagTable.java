@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table of {@link WalkingkookaLanguageTag} decoded from a String such as the generated
+ * {@code LocaleProvider#DATA}.
+ * <br>
+ * Two formats are supported:
+ * <ol>
+ * <li>The original format written by {@code WalkingkookaLanguageTag#encode} where each tag is written in full.</li>
+ * <li>A compact format written by {@link #encode(List, DataOutput)}, which begins with {@link #COMPACT}, followed by a
+ * dictionary holding each distinct subtag once, and then each tag as four small references into that dictionary.</li>
+ * </ol>
+ * The original format always begins with a non negative count, which is how the two are told apart.
+ * <br>
+ * Both formats are held in memory as a dictionary and references, so equal subtags such as "en", "US" or "Latn" are
+ * shared by all tags rather than copied for each.
+ */
+public final class LanguageTagTable {
+
+    /**
+     * Marker written at the very start of the compact format.
+     */
+    public final static int COMPACT = -1;
+
+    /**
+     * The number of dictionary references written for each tag.
+     */
+    private final static int REFERENCES = 4;
+
+    private final static int LANGUAGE = 0;
+
+    private final static int COUNTRY = 1;
+
+    private final static int VARIANT = 2;
+
+    private final static int SCRIPT = 3;
+
+    /**
+     * Reads a {@link LanguageTagTable} in either format from the given String.
+     */
+    public static LanguageTagTable read(final String data) throws IOException {
+        final DataInput input = StringDataInputDataOutput.input(data);
+
+        return COMPACT == input.readInt() ?
+            readCompact(input) :
+            readOriginal(data);
+    }
+
+    private static LanguageTagTable readCompact(final DataInput data) throws IOException {
+        final String[] dictionary = readDictionary(data);
+
+        final int count = data.readInt();
+        final int[] references = new int[count * REFERENCES];
+        for (int i = 0; i < references.length; i++) {
+            references[i] = data.readShort();
+        }
+
+        return new LanguageTagTable(
+            dictionary,
+            references,
+            new WalkingkookaLanguageTag[count]
+        );
+    }
+
+    /**
+     * The decoded tags each hold their own copies of common subtags such as "en" or "Latn", so they are only used to
+     * build a dictionary and references, and are then created again on request using the shared subtags.
+     */
+    private static LanguageTagTable readOriginal(final String data) throws IOException {
+        final List<WalkingkookaLanguageTag> tags = WalkingkookaLanguageTag.decode(
+            StringDataInputDataOutput.input(data)
+        );
+
+        final Map<String, Integer> dictionary = new HashMap<>();
+        final int[] references = references(tags, dictionary);
+
+        return new LanguageTagTable(
+            dictionary(dictionary),
+            references,
+            new WalkingkookaLanguageTag[tags.size()]
+        );
+    }
+
+    /**
+     * Writes the given tags in the compact format.
+     */
+    @GwtIncompatible
+    public static void encode(final List<WalkingkookaLanguageTag> tags,
+                              final DataOutput data) throws IOException {
+        final Map<String, Integer> dictionary = new HashMap<>();
+        final int[] references = references(tags, dictionary);
+
+        data.writeInt(COMPACT);
+        writeDictionary(dictionary, data);
+
+        data.writeInt(tags.size());
+        for (final int reference : references) {
+            data.writeShort(reference);
+        }
+    }
+
+    // dictionary.......................................................................................................
+
+    /**
+     * Returns {@link #REFERENCES} dictionary references for each tag, adding subtags to the dictionary as necessary.
+     */
+    private static int[] references(final List<WalkingkookaLanguageTag> tags,
+                                    final Map<String, Integer> dictionary) {
+        final int[] references = new int[tags.size() * REFERENCES];
+
+        int i = 0;
+        for (final WalkingkookaLanguageTag tag : tags) {
+            references[i + LANGUAGE] = reference(tag.language(), dictionary);
+            references[i + COUNTRY] = reference(tag.country(), dictionary);
+            references[i + VARIANT] = reference(tag.variant(), dictionary);
+            references[i + SCRIPT] = reference(tag.script(), dictionary);
+            i += REFERENCES;
+        }
+
+        return references;
+    }
+
+    /**
+     * Returns the reference for the given subtag, adding it to the dictionary if necessary.
+     */
+    static int reference(final String subtag,
+                         final Map<String, Integer> dictionary) {
+        Integer reference = dictionary.get(subtag);
+        if (null == reference) {
+            reference = dictionary.size();
+            if (reference > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many subtags " + reference);
+            }
+            dictionary.put(subtag, reference);
+        }
+        return reference;
+    }
+
+    static String[] readDictionary(final DataInput data) throws IOException {
+        final String[] dictionary = new String[data.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = data.readUTF();
+        }
+        return dictionary;
+    }
+
+    static void writeDictionary(final Map<String, Integer> dictionary,
+                                final DataOutput data) throws IOException {
+        final String[] subtags = dictionary(dictionary);
+
+        data.writeInt(subtags.length);
+        for (final String subtag : subtags) {
+            data.writeUTF(subtag);
+        }
+    }
+
+    /**
+     * Returns the subtags in the dictionary ordered by their reference.
+     */
+    private static String[] dictionary(final Map<String, Integer> dictionary) {
+        final String[] subtags = new String[dictionary.size()];
+        for (final Map.Entry<String, Integer> subtagAndReference : dictionary.entrySet()) {
+            subtags[subtagAndReference.getValue()] = subtagAndReference.getKey();
+        }
+        return subtags;
+    }
+
+    // LanguageTagTable.................................................................................................
+
+    private LanguageTagTable(final String[] dictionary,
+                             final int[] references,
+                             final WalkingkookaLanguageTag[] tags) {
+        super();
+        this.dictionary = dictionary;
+        this.references = references;
+        this.tags = tags;
+    }
+
+    /**
+     * The number of tags in this table.
+     */
+    public int size() {
+        return this.tags.length;
+    }
+
+    /**
+     * Returns the tag at the given index, tags are only created upon the first request and share their subtags.
+     */
+    public WalkingkookaLanguageTag tag(final int index) {
+        WalkingkookaLanguageTag tag = this.tags[index];
+        if (null == tag) {
+            tag = WalkingkookaLanguageTag.with(
+                null,
+                this.subtag(index, LANGUAGE),
+                this.subtag(index, COUNTRY),
+                this.subtag(index, VARIANT),
+                this.subtag(index, SCRIPT)
+            );
+            this.tags[index] = tag;
+        }
+        return tag;
+    }
+
+    /**
+     * Returns the language of the tag at the given index without creating the tag.
+     */
+    public String language(final int index) {
+        return this.subtag(index, LANGUAGE);
+    }
+
+    private String subtag(final int index,
+                          final int component) {
+        return this.dictionary[this.references[index * REFERENCES + component]];
+    }
+
+    /**
+     * Each distinct subtag once, shared by all tags.
+     */
+    private final String[] dictionary;
+
+    /**
+     * {@link #REFERENCES} dictionary references for each tag.
+     */
+    private final int[] references;
+
+    /**
+     * Tags are filled as they are requested.
+     */
+    private final WalkingkookaLanguageTag[] tags;
+
+    @Override
+    public String toString() {
+        return this.size() + " tag(s)";
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A compact table of CLDR likely subtags for the languages of the available locales, supporting
+ * {@link LocaleSupport#addLikelySubtags(Locale)} and {@link LocaleSupport#minimizeSubtags(Locale)}.
+ * <br>
+ * Like {@code LocaleProvider#DATA} the table is an encoded String, written by {@link #encode(Map)}, which is decoded
+ * once upon first use. Likely subtags are CLDR facts, so the table is fixed and does not follow the selected locales.
+ */
+final class LikelySubtags {
+
+    /**
+     * A dictionary of every distinct subtag separated by commas and ending with a semi-colon, followed by four
+     * references for each entry, the language, the region, script or nothing that completes the key, and the likely
+     * script and region, eg "zh-TW" gives "Hant-TW". Each reference is a single character holding the position of the
+     * subtag within the dictionary plus {@link #REFERENCE_BASE}.
+     */
+    // @VisibleForTesting
+    final static String DATA = ",001,AF,AL,AM,AZ,Adlm,Arab,Armn,BA,BD,BG,BI,BR,BT,BY,Beng,CD,CF,CH,CM,CN,CV,CZ,Cakm,Cher,Cyrl,DE,DK,DZ,D" +
+        "eva,EE,EG,ES,ET,Ethi,FI,FO,FR,GB,GE,GH,GL,GN,GR,Geor,Grek,Gujr,Guru,HK,HR,HU,Hans,Hant,Hebr,ID,IE,IL,IM," +
+        "IN,IQ,IR,IS,IT,JP,Jpan,KE,KG,KH,KR,KZ,Khmr,Knda,Kore,LA,LK,LR,LT,LU,LV,Laoo,Latn,MA,ME,MG,MK,ML,MM,MN,MO" +
+        ",MT,MU,MY,MZ,Mlym,Mong,Mymr,NA,NE,NG,NL,NO,NP,NZ,Olck,Orya,PE,PH,PK,PL,RO,RS,RU,RW,SE,SI,SK,SN,SO,SS,Sin" +
+        "h,TH,TJ,TM,TO,TR,TW,TZ,Taml,Telu,Tfng,Thai,Tibt,UA,UG,US,UZ,VN,Vaii,Yiii,ZA,ZM,ZW,af,agq,ak,am,ar,as,asa" +
+        ",ast,az,bas,be,bem,bez,bg,bm,bn,bo,br,brx,bs,ca,ccp,ce,ceb,cgg,chr,ckb,cs,cy,da,dav,de,dje,doi,dsb,dua,d" +
+        "yo,dz,ebu,ee,el,en,eo,es,et,eu,ewo,fa,ff,fi,fil,fo,fr,fur,fy,ga,gd,gl,gsw,gu,guz,gv,ha,haw,he,hi,hr,hsb," +
+        "hu,hy,ia,id,ig,ii,is,it,ja,jgo,jmc,jv,ka,kab,kam,kde,kea,khq,ki,kk,kkj,kl,kln,km,kn,ko,kok,ks,ksb,ksf,ks" +
+        "h,ku,kw,ky,lag,lb,lg,lkt,ln,lo,lrc,lt,lu,luo,luy,lv,mai,mas,mer,mfe,mg,mgh,mgo,mi,mk,ml,mn,mni,mr,ms,mt," +
+        "mua,my,mzn,naq,nb,nd,nds,ne,nl,nmg,nn,nnh,no,nus,nyn,om,or,os,pa,pcm,pl,ps,pt,qu,rm,rn,ro,rof,ru,rw,rwk," +
+        "sa,sah,saq,sat,sbp,sd,se,seh,ses,sg,shi,si,sk,sl,smn,sn,so,sq,sr,su,sv,sw,ta,te,teo,tg,th,ti,tk,to,tr,tt" +
+        ",twq,tzm,ug,uk,ur,uz,vai,vi,vun,wae,wo,xh,xog,yav,yi,yo,yue,zgh,zh,zu;\u00bf0\u0081\u00bc\u00c00\u0081D" +
+        "\u00c10\u0081Y\u00c20SR\u00c307P\u00c40@k\u00c50\u0081\u00af\u00c60\u0081Q\u00c70\u00815\u00c80\u0081D" +
+        "\u00c90J?\u00ca0\u0081\u00bd\u00cb0\u0081\u00af\u00cc0J;\u00cd0\u0081\u0086\u00ce0@:\u00cf0\u00b4E\u00d0" +
+        "0\u0081V\u00d10Nk\u00d20\u00819\u00d30\u0081Q\u00d40H:\u00d50J\u00a0\u00d60\u0081\u009b\u00d70\u0081" +
+        "\u00b6\u00d80I\u00b7\u00d907l\u00da0\u0081G\u00db0\u0081W\u00dc0\u0081L\u00dd0\u0081r\u00de0\u0081K" +
+        "\u00df0\u0081\u0092\u00e00Nk\u00e10\u0081K\u00e20\u0081D\u00e30\u0081\u00a5\u00e40\u00b4>\u00e50\u0081r" +
+        "\u00e60\u0081Y\u00e70^\\\u00e80\u0081\u00b7\u00e90\u00811\u00ea0\u0081Q\u00eb0\u0081O\u00ec0\u0081Q" +
+        "\u00ed0\u0081D\u00ee07m\u00ef0\u0081\u00a5\u00ef66[\u00f00\u0081T\u00f10\u0081\u009b\u00f20\u0081U\u00f3" +
+        "0\u0081V\u00f40\u0081o\u00f50\u0081\u0094\u00f60\u0081h\u00f70\u0081W\u00f80\u0081Q\u00f90\u0081C\u00fa0" +
+        "_k\u00fb0\u0081r\u00fc0\u0081j\u00fd0\u0081\u0093\u00fe0\u0081\u00b7\u00ff0fi\u01000Nk\u01010\u0081b" +
+        "\u01020\u0081K\u01030\u0081c\u0104084\u01050\u00811\u01060\u0081g\u01070\u0081\u0093\u01080\u00bbE\u0109" +
+        "0\u0081n\u010a0\u0081o\u010b0qp\u010c0\u0081D\u010d0\u0081\u00af\u010e0\u0081g\u010f0]X\u01100\u0081M" +
+        "\u01110\u0081r\u01120\u0081\u00af\u01130\u0081F\u01140\u0081\u0086\u01150\u0081r\u01160Jv\u01170\u0081D" +
+        "\u01180\u0081Z\u01190\u0081r\u011a0wt\u011b0xk\u011c0yu\u011d0Nk\u011e07k\u011f0\u0081\u00af\u01200" +
+        "\u0081D\u01210\u0081K\u01220\u0081\u00ad\u01230\u0081W\u01240Js\u01250\u0081\u00af\u01260\u0081~\u01270" +
+        "\u0081\u00b6\u01280\u0081\u00b7\u01290\u0081A\u012a0\u0080z\u012b07m\u012c0\u0081}\u012d0\u0081A\u012e0" +
+        "\u0081r\u012f0\u0081r\u01300\u0081\u007f\u01310Nk\u01320\u0081r\u01330\u0081r\u01340\u0081\u008b\u01350" +
+        "\u0081\u0084\u01360\u0081\u008d\u01370\u0081D\u01380\u0081\u0097\u01390J\u0085\u013a0\u008ek\u013b0J" +
+        "\u0088\u013bE\u008fE\u013b\u008f\u008fE\u013c0@k\u013d0Nk\u013e0\u0081\u008c\u013f0\u0081\u008a\u01400" +
+        "\u0081D\u01410\u0090\u0087\u014207m\u01430\u0081\u0091\u01440\u0081\u0095\u01450\u0081\u00be\u01460" +
+        "\u0081K\u01470N\u0096\u01480\u0081\u0094\u01490\u0081D\u014a0\u0081\u0095\u014b0\u0081D\u014c0\u0081" +
+        "\u0095\u014d0\u0081\u00a7\u014e0\u0081\u00b6\u014f0\u0081R\u01500\u0099k\u01510JX\u01520`k\u015277\u009c" +
+        "\u0152\u009c7\u009c\u01530\u0081\u0093\u01540\u0081\u009d\u0155072\u01560\u0081=\u01570\u0081\u009a" +
+        "\u01580\u0081C\u01590\u0081<\u015a0\u0081\u009e\u015b0\u0081\u00af\u015c0J\u00a0\u015d0\u0081\u00a1" +
+        "\u015e0\u0081\u00af\u015f0Nk\u01600J\u00a0\u01610\u0081r\u01620\u0098k\u01630\u0081\u00af\u016407\u009c" +
+        "\u0164NNk\u0164kNk\u01650\u0081\u0095\u01660\u0081\u008d\u01670\u0081\u0086\u01680\u0081B\u01690\u00b2" +
+        "\u0082\u016a0\u00a8{\u016b0\u0081\u00a4\u016c0\u0081\u00a3\u016d0\u0081T\u016e0\u0081\u00be\u016f0\u0081" +
+        "\u00a6\u01700\u00813\u01710J\u009f\u0171\u0083\u0081\u0083\u01720\u0081g\u01730\u0081\u00a2\u01740\u0081" +
+        "\u00af\u01750\u00b0k\u01760\u00b1k\u01770\u0081\u00b6\u01780J\u00aa\u01790\u00b3\u00a9\u017a0SR\u017b0" +
+        "\u0081\u00ab\u017c0\u0081\u00ac\u017d0\u0081\u00ad\u017e0J\u00a0\u017f0\u0081\u0092\u01800\u0081\u0082" +
+        "\u018107E\u01820J\u00b5\u018307\u009c\u01840\u0081\u00b8\u0184272\u0184772\u01850\u00ba|\u01860\u0081" +
+        "\u00b9\u01870\u0081\u00af\u01880\u0081C\u01890\u0081\u00a5\u018a0\u0081\u00bc\u018b0\u0081\u00b6\u018c0" +
+        "\u0081D\u018d0f1\u018e0\u0081\u0093\u018f0ea\u018fEdE\u018fddE\u01900\u00b2\u0082\u01910dE\u0191aea" +
+        "\u0191ee\u00ae\u0191\u0089e\u0089\u0191\u00aee\u00ae\u01920\u0081\u00bc";
+
+    /**
+     * Returns the {@link Locale} with its missing script and region filled using the most likely values, eg "zh-TW"
+     * gives "zh-Hant-TW". Variants are kept but extensions are dropped. Locales that already have a script and region,
+     * are without a language, with a language that is not in the table or a legacy variant such as "no_NO_NY" are
+     * returned unchanged.
+     */
+    static Locale add(final Locale locale) {
+        final String language = language(locale);
+        final String script = locale.getScript();
+        final String country = locale.getCountry();
+
+        Locale add = locale;
+
+        if (false == language.isEmpty() && (script.isEmpty() || country.isEmpty()) && isVariant(locale.getVariant())) {
+            final String likely = likely(language, script, country);
+            if (null != likely) {
+                add = locale(
+                    language,
+                    script.isEmpty() ? script(likely) : script,
+                    country.isEmpty() ? country(likely) : country,
+                    locale
+                );
+            }
+        }
+
+        return add;
+    }
+
+    /**
+     * Returns the shortest {@link Locale} which gives the same result when {@link #add(Locale)} is applied, trying the
+     * language, then language-region and then language-script, eg "zh-Hant-TW" gives "zh-TW". Locales that cannot be
+     * maximized are returned unchanged.
+     */
+    static Locale minimize(final Locale locale) {
+        final String language = language(locale);
+
+        Locale minimize = locale;
+
+        if (false == language.isEmpty() && isVariant(locale.getVariant())) {
+            final Locale max = add(locale);
+            final String maxScript = max.getScript();
+            final String maxCountry = max.getCountry();
+
+            if (false == maxScript.isEmpty() && false == maxCountry.isEmpty()) {
+                if (isSame(language, "", "", maxScript, maxCountry)) {
+                    minimize = locale(language, "", "", locale);
+                } else if (isSame(language, "", maxCountry, maxScript, maxCountry)) {
+                    minimize = locale(language, "", maxCountry, locale);
+                } else if (isSame(language, maxScript, "", maxScript, maxCountry)) {
+                    minimize = locale(language, maxScript, "", locale);
+                } else {
+                    minimize = max;
+                }
+            }
+        }
+
+        return minimize;
+    }
+
+    /**
+     * Tests if the variant is empty or well formed, legacy variants such as the "NY" in "no_NO_NY" cannot be written
+     * in a language tag.
+     */
+    private static boolean isVariant(final String variant) {
+        final int length = variant.length();
+        return 0 == length ||
+            length >= 5 && length <= 8 ||
+            4 == length && variant.charAt(0) >= '0' && variant.charAt(0) <= '9';
+    }
+
+    /**
+     * Tests if the given language, script and country when maximized gives the given script and country.
+     */
+    private static boolean isSame(final String language,
+                                  final String script,
+                                  final String country,
+                                  final String maxScript,
+                                  final String maxCountry) {
+        final String likely = likely(language, script, country);
+        return null != likely &&
+            maxScript.equals(script.isEmpty() ? script(likely) : script) &&
+            maxCountry.equals(country.isEmpty() ? country(likely) : country);
+    }
+
+    /**
+     * Returns the likely script and region, trying the language-region, then language-script and then the language.
+     */
+    private static String likely(final String language,
+                                 final String script,
+                                 final String country) {
+        final Map<String, String> table = Table.TABLE;
+
+        String likely = null;
+        if (false == country.isEmpty()) {
+            likely = table.get(language + SEPARATOR + country);
+        }
+        if (null == likely && false == script.isEmpty()) {
+            likely = table.get(language + SEPARATOR + script);
+        }
+        if (null == likely) {
+            likely = table.get(language);
+        }
+        return likely;
+    }
+
+    private static String script(final String likely) {
+        return likely.substring(0, likely.indexOf(SEPARATOR));
+    }
+
+    private static String country(final String likely) {
+        return likely.substring(likely.indexOf(SEPARATOR) + 1);
+    }
+
+    /**
+     * The table uses the new language forms, eg "he" rather than "iw".
+     */
+    private static String language(final Locale locale) {
+        return WalkingkookaLanguageTag.oldToNewLanguage(locale.getLanguage());
+    }
+
+    /**
+     * Creates a {@link Locale} with the given subtags and the variant of the original, returning the original when
+     * they are equal.
+     */
+    private static Locale locale(final String language,
+                                 final String script,
+                                 final String country,
+                                 final Locale original) {
+        final StringBuilder tag = new StringBuilder();
+        tag.append(language);
+        if (false == script.isEmpty()) {
+            tag.append(SEPARATOR)
+                .append(script);
+        }
+        if (false == country.isEmpty()) {
+            tag.append(SEPARATOR)
+                .append(country);
+        }
+        final String variant = original.getVariant();
+        if (false == variant.isEmpty()) {
+            tag.append(SEPARATOR)
+                .append(variant);
+        }
+
+        final Locale locale = LocaleSupport.tryForLanguageTag(tag.toString())
+            .orElse(original);
+        return locale.equals(original) ?
+            original :
+            locale;
+    }
+
+    private final static char SEPARATOR = '-';
+
+    /**
+     * Holder for the decoded {@link #DATA}, which is only decoded upon first use.
+     */
+    private final static class Table {
+        final static Map<String, String> TABLE = decode(DATA);
+    }
+
+    /**
+     * Decodes a table written by {@link #encode(Map)}, into a {@link Map} of keys such as "zh-TW" to their likely
+     * script and region such as "Hant-TW".
+     */
+    // @VisibleForTesting
+    static Map<String, String> decode(final String data) {
+        final int dictionaryEnd = data.indexOf(DICTIONARY_END);
+        if (-1 == dictionaryEnd) {
+            throw new IllegalArgumentException("Missing " + DICTIONARY_END);
+        }
+
+        final List<String> dictionary = new ArrayList<>();
+        int start = 0;
+        for (; ; ) {
+            int end = data.indexOf(DICTIONARY_SEPARATOR, start);
+            if (-1 == end || end > dictionaryEnd) {
+                end = dictionaryEnd;
+            }
+            dictionary.add(data.substring(start, end));
+            if (dictionaryEnd == end) {
+                break;
+            }
+            start = end + 1;
+        }
+
+        final int length = data.length();
+        if (0 != (length - dictionaryEnd - 1) % ENTRY_LENGTH) {
+            throw new IllegalArgumentException("Incomplete entry");
+        }
+
+        final Map<String, String> table = new HashMap<>();
+        for (int i = dictionaryEnd + 1; i < length; i += ENTRY_LENGTH) {
+            final String language = subtag(data, i, dictionary);
+            final String qualifier = subtag(data, i + 1, dictionary);
+
+            table.put(
+                qualifier.isEmpty() ?
+                    language :
+                    language + SEPARATOR + qualifier,
+                subtag(data, i + 2, dictionary) + SEPARATOR + subtag(data, i + 3, dictionary)
+            );
+        }
+
+        return table;
+    }
+
+    private static String subtag(final String data,
+                                 final int index,
+                                 final List<String> dictionary) {
+        final int reference = data.charAt(index) - REFERENCE_BASE;
+        if (reference < 0 || reference >= dictionary.size()) {
+            throw new IllegalArgumentException("Invalid reference at " + index);
+        }
+        return dictionary.get(reference);
+    }
+
+    /**
+     * Writes the given table, whose keys are a language, language-region or language-script and values a script and
+     * region, in the form read by {@link #decode(String)}. This is used to generate {@link #DATA}.
+     */
+    @GwtIncompatible
+    static String encode(final Map<String, String> table) {
+        final Map<String, String> sorted = new TreeMap<>(table);
+
+        final Set<String> subtags = new TreeSet<>();
+        subtags.add("");
+        for (final Map.Entry<String, String> keyAndLikely : sorted.entrySet()) {
+            subtags.addAll(split(keyAndLikely.getKey()));
+            subtags.addAll(split(keyAndLikely.getValue()));
+        }
+
+        final List<String> dictionary = new ArrayList<>(subtags);
+        final StringBuilder data = new StringBuilder();
+        for (int i = 0; i < dictionary.size(); i++) {
+            if (i > 0) {
+                data.append(DICTIONARY_SEPARATOR);
+            }
+            data.append(dictionary.get(i));
+        }
+        data.append(DICTIONARY_END);
+
+        for (final Map.Entry<String, String> keyAndLikely : sorted.entrySet()) {
+            final List<String> key = split(keyAndLikely.getKey());
+            final List<String> likely = split(keyAndLikely.getValue());
+            if (key.size() > 2 || 2 != likely.size()) {
+                throw new IllegalArgumentException("Invalid entry " + keyAndLikely);
+            }
+
+            data.append(reference(key.get(0), dictionary))
+                .append(reference(key.size() > 1 ? key.get(1) : "", dictionary))
+                .append(reference(likely.get(0), dictionary))
+                .append(reference(likely.get(1), dictionary));
+        }
+
+        return data.toString();
+    }
+
+    @GwtIncompatible
+    private static List<String> split(final String text) {
+        final List<String> subtags = new ArrayList<>();
+        int start = 0;
+        for (; ; ) {
+            final int end = text.indexOf(SEPARATOR, start);
+            if (-1 == end) {
+                subtags.add(text.substring(start));
+                break;
+            }
+            subtags.add(text.substring(start, end));
+            start = end + 1;
+        }
+        return subtags;
+    }
+
+    @GwtIncompatible
+    private static char reference(final String subtag,
+                                  final List<String> dictionary) {
+        return (char) (REFERENCE_BASE + dictionary.indexOf(subtag));
+    }
+
+    private final static char DICTIONARY_SEPARATOR = ',';
+
+    private final static char DICTIONARY_END = ';';
+
+    /**
+     * The number of references for each entry.
+     */
+    private final static int ENTRY_LENGTH = 4;
+
+    /**
+     * Added to each reference, so the references of small dictionaries are printable.
+     */
+    private final static char REFERENCE_BASE = '0';
+
+    /**
+     * Stop creation
+     */
+    private LikelySubtags() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.Cast;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Map} keyed by {@link Locale} where values for available locales are held in a plain array indexed by
+ * {@link LocaleSupport#ordinal(Locale)}. No entry objects are kept, but a {@link #get(Object)} still hashes the
+ * {@link Locale} once, as finding its ordinal is itself a {@link Map} lookup, before reading the array. Locales that are
+ * not available are held in a separate overflow {@link Map}.
+ * <br>
+ * Iteration returns available locales in ordinal order followed by any overflow locales. Null keys are not supported,
+ * null values are.
+ */
+public final class LocaleMap<V> extends AbstractMap<Locale, V> {
+
+    /**
+     * Creates a new empty {@link LocaleMap}.
+     */
+    public static <V> LocaleMap<V> create() {
+        return new LocaleMap<>(
+            new Object[LocaleSupport.availableLocaleCount()]
+        );
+    }
+
+    /**
+     * Creates a new {@link LocaleMap} holding a copy of all the given entries.
+     */
+    public static <V> LocaleMap<V> with(final Map<Locale, ? extends V> map) {
+        Objects.requireNonNull(map, "map");
+
+        final LocaleMap<V> localeMap = create();
+        localeMap.putAll(map);
+        return localeMap;
+    }
+
+    private LocaleMap(final Object[] values) {
+        super();
+        this.values = values;
+    }
+
+    // Map..............................................................................................................
+
+    @Override
+    public V get(final Object key) {
+        V value = null;
+
+        if (key instanceof Locale) {
+            final Locale locale = (Locale) key;
+            final int ordinal = LocaleSupport.ordinal(locale);
+            value = LocaleSupport.NO_ORDINAL == ordinal ?
+                null != this.overflow ? this.overflow.get(locale) : null :
+                unmask(this.values[ordinal]);
+        }
+
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        boolean contains = false;
+
+        if (key instanceof Locale) {
+            final Locale locale = (Locale) key;
+            final int ordinal = LocaleSupport.ordinal(locale);
+            contains = LocaleSupport.NO_ORDINAL == ordinal ?
+                null != this.overflow && this.overflow.containsKey(locale) :
+                null != this.values[ordinal];
+        }
+
+        return contains;
+    }
+
+    @Override
+    public V put(final Locale key,
+                 final V value) {
+        Objects.requireNonNull(key, "key");
+
+        final V previous;
+
+        final int ordinal = LocaleSupport.ordinal(key);
+        if (LocaleSupport.NO_ORDINAL == ordinal) {
+            previous = this.overflow().put(key, value);
+        } else {
+            final Object[] values = this.values;
+            final Object before = values[ordinal];
+            values[ordinal] = mask(value);
+            if (null == before) {
+                this.count++;
+            }
+            previous = unmask(before);
+        }
+
+        return previous;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        V previous = null;
+
+        if (key instanceof Locale) {
+            final Locale locale = (Locale) key;
+            final int ordinal = LocaleSupport.ordinal(locale);
+            if (LocaleSupport.NO_ORDINAL == ordinal) {
+                if (null != this.overflow) {
+                    previous = this.overflow.remove(locale);
+                }
+            } else {
+                previous = this.removeOrdinal(ordinal);
+            }
+        }
+
+        return previous;
+    }
+
+    private V removeOrdinal(final int ordinal) {
+        final Object[] values = this.values;
+        final Object before = values[ordinal];
+        if (null != before) {
+            values[ordinal] = null;
+            this.count--;
+        }
+        return unmask(before);
+    }
+
+    @Override
+    public int size() {
+        return this.count +
+            (null != this.overflow ? this.overflow.size() : 0);
+    }
+
+    @Override
+    public void clear() {
+        final Object[] values = this.values;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = null;
+        }
+        this.count = 0;
+        this.overflow = null;
+    }
+
+    @Override
+    public Set<Entry<Locale, V>> entrySet() {
+        return new LocaleMapEntrySet();
+    }
+
+    private final class LocaleMapEntrySet extends AbstractSet<Entry<Locale, V>> {
+
+        @Override
+        public Iterator<Entry<Locale, V>> iterator() {
+            return new LocaleMapEntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return LocaleMap.this.size();
+        }
+    }
+
+    /**
+     * Visits the available locales in ordinal order and then any overflow entries.
+     */
+    private final class LocaleMapEntryIterator implements Iterator<Entry<Locale, V>> {
+
+        LocaleMapEntryIterator() {
+            super();
+            this.next = LocaleMap.this.nextOrdinal(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return NONE != this.next ||
+                this.overflowIterator().hasNext();
+        }
+
+        @Override
+        public Entry<Locale, V> next() {
+            final Entry<Locale, V> next;
+
+            final int ordinal = this.next;
+            if (NONE != ordinal) {
+                next = new LocaleMapEntry(ordinal);
+                this.next = LocaleMap.this.nextOrdinal(ordinal + 1);
+            } else {
+                final Iterator<Entry<Locale, V>> overflowIterator = this.overflowIterator();
+                if (false == overflowIterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                next = overflowIterator.next();
+            }
+
+            this.last = ordinal;
+            this.removable = true;
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            if (false == this.removable) {
+                throw new IllegalStateException();
+            }
+            this.removable = false;
+
+            if (NONE != this.last) {
+                LocaleMap.this.removeOrdinal(this.last);
+            } else {
+                this.overflowIterator.remove();
+            }
+        }
+
+        private Iterator<Entry<Locale, V>> overflowIterator() {
+            if (null == this.overflowIterator) {
+                final Map<Locale, V> overflow = LocaleMap.this.overflow;
+                this.overflowIterator = null != overflow ?
+                    overflow.entrySet().iterator() :
+                    Collections.emptyIterator();
+            }
+            return this.overflowIterator;
+        }
+
+        private int next;
+
+        private int last = NONE;
+
+        private boolean removable;
+
+        private Iterator<Entry<Locale, V>> overflowIterator;
+    }
+
+    /**
+     * An {@link Entry} that reads and writes through to the values array.
+     */
+    private final class LocaleMapEntry implements Entry<Locale, V> {
+
+        LocaleMapEntry(final int ordinal) {
+            super();
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public Locale getKey() {
+            return LocaleSupport.availableLocale(this.ordinal);
+        }
+
+        @Override
+        public V getValue() {
+            return unmask(LocaleMap.this.values[this.ordinal]);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final Object[] values = LocaleMap.this.values;
+            final V previous = unmask(values[this.ordinal]);
+            values[this.ordinal] = mask(value);
+            return previous;
+        }
+
+        private final int ordinal;
+
+        @Override
+        public int hashCode() {
+            return this.getKey().hashCode() ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other ||
+                other instanceof Entry && this.equals0((Entry<?, ?>) other);
+        }
+
+        private boolean equals0(final Entry<?, ?> other) {
+            return this.getKey().equals(other.getKey()) &&
+                Objects.equals(this.getValue(), other.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+
+    private final static int NONE = -1;
+
+    /**
+     * Returns the first ordinal with a value at or after the given ordinal or {@link #NONE}.
+     */
+    private int nextOrdinal(final int from) {
+        final Object[] values = this.values;
+
+        int next = NONE;
+        for (int i = from; i < values.length; i++) {
+            if (null != values[i]) {
+                next = i;
+                break;
+            }
+        }
+        return next;
+    }
+
+    private Map<Locale, V> overflow() {
+        if (null == this.overflow) {
+            this.overflow = new HashMap<>();
+        }
+        return this.overflow;
+    }
+
+    /**
+     * Null values are stored as this marker, so a null slot always means absent.
+     */
+    private final static Object NULL = new Object();
+
+    private static Object mask(final Object value) {
+        return null == value ?
+            NULL :
+            value;
+    }
+
+    private static <V> V unmask(final Object value) {
+        return NULL == value ?
+            null :
+            Cast.to(value);
+    }
+
+    /**
+     * One slot for each available {@link Locale}, null when absent.
+     */
+    private final Object[] values;
+
+    /**
+     * The number of non null slots in {@link #values}.
+     */
+    private int count;
+
+    /**
+     * Entries for locales without an ordinal, created upon the first such {@link Locale}.
+     */
+    private Map<Locale, V> overflow;
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.Cast;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Remembers a value computed once for each {@link Locale}. Values for available locales are held in an array by
+ * ordinal and filled on request, all other locales come from anywhere so only the most recently used are kept in a
+ * {@link LruCache}.
+ * <br>
+ * Values must not be null and should be immutable, as a race may occasionally compute an equal value twice.
+ */
+final class LocaleMemo<V> {
+
+    static <V> LocaleMemo<V> with(final Function<Locale, V> compute,
+                                  final int unavailableMax) {
+        return new LocaleMemo<>(
+            compute,
+            unavailableMax
+        );
+    }
+
+    private LocaleMemo(final Function<Locale, V> compute,
+                       final int unavailableMax) {
+        super();
+        this.compute = compute;
+        this.available = Cast.to(new Object[LocaleSupport.availableLocaleCount()]);
+        this.unavailable = LruCache.with(unavailableMax);
+    }
+
+    V get(final Locale locale) {
+        final V value;
+
+        final int ordinal = LocaleSupport.ordinal(locale);
+        if (LocaleSupport.NO_ORDINAL != ordinal) {
+            V computed = this.available[ordinal];
+            if (null == computed) {
+                computed = this.compute.apply(locale);
+                this.available[ordinal] = computed;
+            }
+            value = computed;
+        } else {
+            value = this.unavailable.computeIfAbsent(
+                locale,
+                this.compute
+            );
+        }
+
+        return value;
+    }
+
+    private final Function<Locale, V> compute;
+
+    /**
+     * Values for available locales by ordinal.
+     */
+    private final V[] available;
+
+    private final LruCache<Locale, V> unavailable;
+
+    @Override
+    public String toString() {
+        return this.unavailable.toString();
+    }
+}
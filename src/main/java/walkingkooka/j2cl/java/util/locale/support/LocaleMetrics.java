@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+/**
+ * Receives counts and timings from the hot paths of {@link java.util.Locale} and {@link LocaleSupport}, so they may be
+ * reported to a metrics system. Implementations are installed using {@link LocaleSupport#setMetrics(LocaleMetrics)},
+ * which is only available on the JVM, and must be thread safe and fast.
+ */
+public interface LocaleMetrics {
+
+    /**
+     * The events that are counted.
+     */
+    enum Counter {
+        /**
+         * A tag with a country was searched by language and country.
+         */
+        FOR_LANGUAGE_TAG_COUNTRY,
+
+        /**
+         * A tag with a country matched nothing and its country became the language.
+         */
+        FOR_LANGUAGE_TAG_COUNTRY_AS_LANGUAGE,
+
+        /**
+         * The alternative of a {@link java.util.Locale} was computed by parsing a tag, which happens once for each
+         * alternative that is remembered. Locales without an alternative are not counted.
+         */
+        ALTERNATIVES_COMPUTED,
+
+        /**
+         * A tag that is not available found its previously interned {@link java.util.Locale}.
+         */
+        INTERNED_HIT,
+
+        /**
+         * A tag that is not available was not interned and a new {@link java.util.Locale} was created.
+         */
+        INTERNED_MISS,
+
+        /**
+         * The least recently used interned {@link java.util.Locale} was discarded to make room.
+         */
+        INTERNED_EVICTION
+    }
+
+    /**
+     * The operations that are timed.
+     */
+    enum Timer {
+        /**
+         * The decoding of the generated locale data.
+         */
+        LANGUAGE_TAG_TABLE_READ
+    }
+
+    /**
+     * Adds one to the given {@link Counter}.
+     */
+    void increment(final Counter counter);
+
+    /**
+     * Returns a start time which is later given to {@link #time(Timer, long)}, typically {@link System#nanoTime()}.
+     */
+    long start();
+
+    /**
+     * Records the time since the given start, which was returned by {@link #start()}.
+     */
+    void time(final Timer timer,
+              final long start);
+}
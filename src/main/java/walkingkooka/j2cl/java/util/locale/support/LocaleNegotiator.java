@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Locale.LanguageRange;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Picks the best supported {@link Locale} for a list of preferences, such as those from an Accept-Language header,
+ * navigator.languages or a profile field. A {@link LocaleNegotiator} should be created once for each supported set and
+ * then shared.
+ * <br>
+ * Each preference and supported {@link Locale} is compared after {@link LocaleSupport#addLikelySubtags(Locale)}, so
+ * "en" and "en-Latn-US" are the same. The language and script must match, a different region or variant adds a small
+ * distance, and each later preference adds a larger distance, so "en-AU" prefers a supported "en-US" over a later
+ * preference of "fr". The alternatives from {@link LocaleSupport#alternatives(Locale, boolean)} including the Norwegian
+ * forms are also tried, with a small extra distance. Ties are won by the first supported {@link Locale}.
+ * <br>
+ * Results are remembered for each distinct preference list and header, so repeated requests are a single lookup.
+ */
+public final class LocaleNegotiator {
+
+    /**
+     * Creates a new {@link LocaleNegotiator} for the given supported {@link Locale locales}, in preference order for ties.
+     */
+    public static LocaleNegotiator with(final Collection<Locale> supported) {
+        Objects.requireNonNull(supported, "supported");
+
+        return new LocaleNegotiator(
+            new ArrayList<>(supported)
+        );
+    }
+
+    private LocaleNegotiator(final List<Locale> supported) {
+        super();
+
+        final int count = supported.size();
+        this.supported = supported.toArray(new Locale[count]);
+
+        final Subtags[] maximized = new Subtags[count];
+        for (int i = 0; i < count; i++) {
+            maximized[i] = Subtags.maximized(
+                Objects.requireNonNull(supported.get(i), "supported locale")
+            );
+        }
+        this.maximized = maximized;
+    }
+
+    /**
+     * Returns the best supported {@link Locale} for the given preferences, which are in order of preference.
+     */
+    public Optional<Locale> negotiate(final List<Locale> preferences) {
+        Objects.requireNonNull(preferences, "preferences");
+
+        Optional<Locale> best = this.preferences.get(preferences);
+        if (null == best) {
+            final List<Locale> copy = Collections.unmodifiableList(
+                new ArrayList<>(preferences)
+            );
+            best = this.negotiate0(copy);
+            this.preferences.put(copy, best);
+        }
+        return best;
+    }
+
+    private final LruCache<List<Locale>, Optional<Locale>> preferences = LruCache.with(CACHE_MAX);
+
+    /**
+     * Parses the Accept-Language header using {@link AcceptLanguage#parse(String)} and then returns the best supported
+     * {@link Locale}. Wildcards and ranges with a weight of zero are ignored.
+     */
+    public Optional<Locale> negotiateAcceptLanguage(final String header) {
+        Objects.requireNonNull(header, "header");
+
+        return this.headers.computeIfAbsent(
+            header,
+            h -> this.negotiate(preferences(h))
+        );
+    }
+
+    private final LruCache<String, Optional<Locale>> headers = LruCache.with(CACHE_MAX);
+
+    private final static int CACHE_MAX = 256;
+
+    // @VisibleForTesting
+    static List<Locale> preferences(final String header) {
+        final List<Locale> preferences = new ArrayList<>();
+
+        for (final LanguageRange range : AcceptLanguage.parse(header)) {
+            final String tag = range.getRange();
+            if (range.getWeight() > 0 && tag.indexOf('*') == -1) {
+                final Optional<Locale> locale = LocaleSupport.tryForLanguageTag(tag);
+                if (locale.isPresent()) {
+                    preferences.add(locale.get());
+                }
+            }
+        }
+
+        return preferences;
+    }
+
+    // scoring..........................................................................................................
+
+    private Optional<Locale> negotiate0(final List<Locale> preferences) {
+        final Subtags[] maximized = this.maximized;
+
+        int bestIndex = -1;
+        int bestDistance = NO_MATCH;
+
+        int rank = 0;
+        for (final Locale preference : preferences) {
+            final int rankDistance = rank * RANK_DISTANCE;
+            if (rankDistance >= bestDistance) {
+                break;
+            }
+
+            final Subtags wanted = Subtags.maximized(preference);
+            final Optional<Locale> alternative = LocaleSupport.alternatives(
+                preference,
+                LocaleSupport.INCLUDE_NORWAY
+            );
+            final Subtags wantedAlternative = alternative.isPresent() ?
+                Subtags.maximized(alternative.get()) :
+                null;
+
+            for (int i = 0; i < maximized.length; i++) {
+                int distance = wanted.distance(maximized[i]);
+                if (null != wantedAlternative) {
+                    final int alternativeDistance = wantedAlternative.distance(maximized[i]);
+
+                    // NO_MATCH is Integer.MAX_VALUE and must not overflow
+                    if (alternativeDistance < NO_MATCH) {
+                        distance = Math.min(
+                            distance,
+                            alternativeDistance + ALTERNATIVE_DISTANCE
+                        );
+                    }
+                }
+                if (distance < NO_MATCH) {
+                    distance = distance + rankDistance;
+                    if (distance < bestDistance) {
+                        bestIndex = i;
+                        bestDistance = distance;
+                    }
+                }
+            }
+
+            rank++;
+        }
+
+        return -1 == bestIndex ?
+            Optional.empty() :
+            Optional.of(this.supported[bestIndex]);
+    }
+
+    /**
+     * A different language or script is never a match.
+     */
+    private final static int NO_MATCH = Integer.MAX_VALUE;
+
+    private final static int REGION_DISTANCE = 4;
+
+    private final static int VARIANT_DISTANCE = 1;
+
+    private final static int ALTERNATIVE_DISTANCE = 1;
+
+    /**
+     * Larger than any distance between two matching locales, so an earlier preference always wins.
+     */
+    private final static int RANK_DISTANCE = 10;
+
+    private final Locale[] supported;
+
+    /**
+     * The maximized subtags of each supported {@link Locale} by index.
+     */
+    private final Subtags[] maximized;
+
+    /**
+     * The maximized language, script, region and variant of a {@link Locale}, with the language in its new form.
+     */
+    private final static class Subtags {
+
+        static Subtags maximized(final Locale locale) {
+            final Locale maximized = LocaleSupport.addLikelySubtags(locale);
+            return new Subtags(
+                WalkingkookaLanguageTag.oldToNewLanguage(maximized.getLanguage()),
+                maximized.getScript(),
+                maximized.getCountry(),
+                maximized.getVariant()
+            );
+        }
+
+        private Subtags(final String language,
+                        final String script,
+                        final String region,
+                        final String variant) {
+            this.language = language;
+            this.script = script;
+            this.region = region;
+            this.variant = variant;
+        }
+
+        int distance(final Subtags other) {
+            int distance = NO_MATCH;
+
+            if (this.language.equals(other.language) && this.script.equals(other.script)) {
+                distance = 0;
+                if (false == this.region.equals(other.region)) {
+                    distance = REGION_DISTANCE;
+                }
+                if (false == this.variant.equals(other.variant)) {
+                    distance = distance + VARIANT_DISTANCE;
+                }
+            }
+
+            return distance;
+        }
+
+        private final String language;
+        private final String script;
+        private final String region;
+        private final String variant;
+
+        @Override
+        public String toString() {
+            return this.language + "-" + this.script + "-" + this.region + "-" + this.variant;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.supported);
+    }
+}
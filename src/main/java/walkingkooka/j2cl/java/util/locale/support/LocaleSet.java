@@ -0,0 +1,402 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Set} of {@link Locale locales} where available locales are recorded as a bit for each
+ * {@link LocaleSupport#ordinal(Locale)}, giving word at a time union and intersection and using far less memory than a
+ * linked set. A {@link #contains(Object)} is not a bare bit test, as finding the ordinal of a {@link Locale} is itself a
+ * hash lookup. Any {@link Locale} that is not available is held in a separate overflow {@link Set}.
+ * <br>
+ * Iteration returns available locales in ordinal order followed by any overflow locales in insertion order.
+ * Null elements are not supported. The bits are held in an int array as longs are emulated and slow in javascript.
+ */
+public final class LocaleSet extends AbstractSet<Locale> {
+
+    /**
+     * Creates a new empty {@link LocaleSet}.
+     */
+    public static LocaleSet create() {
+        return new LocaleSet(
+            new int[words(LocaleSupport.availableLocaleCount())],
+            0,
+            null
+        );
+    }
+
+    /**
+     * Creates a new {@link LocaleSet} holding all the given locales.
+     */
+    public static LocaleSet with(final Collection<Locale> locales) {
+        Objects.requireNonNull(locales, "locales");
+
+        final LocaleSet set = create();
+        set.addAll(locales);
+        return set;
+    }
+
+    private static int words(final int bits) {
+        return (bits + BITS_PER_WORD - 1) / BITS_PER_WORD;
+    }
+
+    private final static int BITS_PER_WORD = 32;
+
+    private LocaleSet(final int[] words,
+                      final int bitCount,
+                      final Set<Locale> overflow) {
+        super();
+        this.words = words;
+        this.bitCount = bitCount;
+        this.overflow = overflow;
+    }
+
+    // Set..............................................................................................................
+
+    @Override
+    public boolean add(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        final int ordinal = LocaleSupport.ordinal(locale);
+        return LocaleSupport.NO_ORDINAL == ordinal ?
+            this.overflow().add(locale) :
+            this.set(ordinal);
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        boolean contains = false;
+
+        if (object instanceof Locale) {
+            final Locale locale = (Locale) object;
+            final int ordinal = LocaleSupport.ordinal(locale);
+            contains = LocaleSupport.NO_ORDINAL == ordinal ?
+                null != this.overflow && this.overflow.contains(locale) :
+                this.get(ordinal);
+        }
+
+        return contains;
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        boolean removed = false;
+
+        if (object instanceof Locale) {
+            final Locale locale = (Locale) object;
+            final int ordinal = LocaleSupport.ordinal(locale);
+            removed = LocaleSupport.NO_ORDINAL == ordinal ?
+                null != this.overflow && this.overflow.remove(locale) :
+                this.clear(ordinal);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return this.bitCount +
+            (null != this.overflow ? this.overflow.size() : 0);
+    }
+
+    @Override
+    public void clear() {
+        final int[] words = this.words;
+        for (int i = 0; i < words.length; i++) {
+            words[i] = 0;
+        }
+        this.bitCount = 0;
+        this.overflow = null;
+    }
+
+    /**
+     * Combines the bits of another {@link LocaleSet} directly, other collections are added one by one.
+     */
+    @Override
+    public boolean addAll(final Collection<? extends Locale> locales) {
+        final boolean changed;
+
+        if (locales instanceof LocaleSet) {
+            final LocaleSet other = (LocaleSet) locales;
+            final int[] words = this.words;
+            final int[] otherWords = other.words;
+
+            int bitCount = 0;
+            for (int i = 0; i < words.length; i++) {
+                final int word = words[i] | otherWords[i];
+                words[i] = word;
+                bitCount += Integer.bitCount(word);
+            }
+
+            final boolean overflowChanged = null != other.overflow && this.overflow().addAll(other.overflow);
+            changed = bitCount != this.bitCount || overflowChanged;
+            this.bitCount = bitCount;
+        } else {
+            changed = super.addAll(locales);
+        }
+
+        return changed;
+    }
+
+    /**
+     * Intersects the bits of another {@link LocaleSet} directly, other collections are tested one by one.
+     */
+    @Override
+    public boolean retainAll(final Collection<?> locales) {
+        final boolean changed;
+
+        if (locales instanceof LocaleSet) {
+            final LocaleSet other = (LocaleSet) locales;
+            final int[] words = this.words;
+            final int[] otherWords = other.words;
+
+            int bitCount = 0;
+            for (int i = 0; i < words.length; i++) {
+                final int word = words[i] & otherWords[i];
+                words[i] = word;
+                bitCount += Integer.bitCount(word);
+            }
+
+            boolean overflowChanged = false;
+            if (null != this.overflow) {
+                overflowChanged = null != other.overflow ?
+                    this.overflow.retainAll(other.overflow) :
+                    false == this.overflow.isEmpty();
+                if (null == other.overflow) {
+                    this.overflow = null;
+                }
+            }
+
+            changed = bitCount != this.bitCount || overflowChanged;
+            this.bitCount = bitCount;
+        } else {
+            changed = super.retainAll(locales);
+        }
+
+        return changed;
+    }
+
+    /**
+     * Returns a new {@link LocaleSet} holding the locales of both sets, neither set is modified.
+     */
+    public LocaleSet union(final LocaleSet other) {
+        Objects.requireNonNull(other, "other");
+
+        final LocaleSet union = this.copy();
+        union.addAll(other);
+        return union;
+    }
+
+    /**
+     * Returns a new {@link LocaleSet} holding the locales present in both sets, neither set is modified.
+     */
+    public LocaleSet intersection(final LocaleSet other) {
+        Objects.requireNonNull(other, "other");
+
+        final LocaleSet intersection = this.copy();
+        intersection.retainAll(other);
+        return intersection;
+    }
+
+    private LocaleSet copy() {
+        return new LocaleSet(
+            this.words.clone(),
+            this.bitCount,
+            null != this.overflow ?
+                new LinkedHashSet<>(this.overflow) :
+                null
+        );
+    }
+
+    @Override
+    public Iterator<Locale> iterator() {
+        return new LocaleSetIterator();
+    }
+
+    /**
+     * Visits the available locales in ordinal order and then any overflow locales.
+     */
+    private final class LocaleSetIterator implements Iterator<Locale> {
+
+        LocaleSetIterator() {
+            super();
+            this.next = LocaleSet.this.nextSetBit(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return NONE != this.next ||
+                this.overflowIterator().hasNext();
+        }
+
+        @Override
+        public Locale next() {
+            final Locale next;
+
+            final int ordinal = this.next;
+            if (NONE != ordinal) {
+                next = LocaleSupport.availableLocale(ordinal);
+                this.next = LocaleSet.this.nextSetBit(ordinal + 1);
+            } else {
+                final Iterator<Locale> overflowIterator = this.overflowIterator();
+                if (false == overflowIterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                next = overflowIterator.next();
+            }
+
+            this.last = ordinal;
+            this.removable = true;
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            if (false == this.removable) {
+                throw new IllegalStateException();
+            }
+            this.removable = false;
+
+            if (NONE != this.last) {
+                LocaleSet.this.clear(this.last);
+            } else {
+                this.overflowIterator.remove();
+            }
+        }
+
+        private Iterator<Locale> overflowIterator() {
+            if (null == this.overflowIterator) {
+                final Set<Locale> overflow = LocaleSet.this.overflow;
+                this.overflowIterator = null != overflow ?
+                    overflow.iterator() :
+                    Collections.emptyIterator();
+            }
+            return this.overflowIterator;
+        }
+
+        /**
+         * The next set ordinal or {@link #NONE}.
+         */
+        private int next;
+
+        /**
+         * The ordinal of the last {@link Locale} returned by {@link #next()} or {@link #NONE} if it came from the overflow.
+         */
+        private int last = NONE;
+
+        private boolean removable;
+
+        private Iterator<Locale> overflowIterator;
+    }
+
+    private final static int NONE = -1;
+
+    // bits.............................................................................................................
+
+    private boolean get(final int ordinal) {
+        return 0 != (this.words[ordinal / BITS_PER_WORD] & mask(ordinal));
+    }
+
+    private boolean set(final int ordinal) {
+        final int index = ordinal / BITS_PER_WORD;
+        final int word = this.words[index];
+        final int mask = mask(ordinal);
+
+        final boolean added = 0 == (word & mask);
+        if (added) {
+            this.words[index] = word | mask;
+            this.bitCount++;
+        }
+        return added;
+    }
+
+    private boolean clear(final int ordinal) {
+        final int index = ordinal / BITS_PER_WORD;
+        final int word = this.words[index];
+        final int mask = mask(ordinal);
+
+        final boolean removed = 0 != (word & mask);
+        if (removed) {
+            this.words[index] = word & ~mask;
+            this.bitCount--;
+        }
+        return removed;
+    }
+
+    private static int mask(final int ordinal) {
+        return 1 << (ordinal % BITS_PER_WORD);
+    }
+
+    /**
+     * Returns the first set ordinal at or after the given ordinal or {@link #NONE}.
+     */
+    private int nextSetBit(final int from) {
+        final int[] words = this.words;
+        int index = from / BITS_PER_WORD;
+
+        int next = NONE;
+        if (index < words.length) {
+            int word = words[index] & (-1 << (from % BITS_PER_WORD));
+
+            for (; ; ) {
+                if (0 != word) {
+                    next = index * BITS_PER_WORD + Integer.numberOfTrailingZeros(word);
+                    break;
+                }
+                index++;
+                if (index >= words.length) {
+                    break;
+                }
+                word = words[index];
+            }
+        }
+
+        return next;
+    }
+
+    private Set<Locale> overflow() {
+        if (null == this.overflow) {
+            this.overflow = new LinkedHashSet<>();
+        }
+        return this.overflow;
+    }
+
+    /**
+     * One bit for each available {@link Locale}.
+     */
+    private final int[] words;
+
+    /**
+     * The number of bits set in {@link #words}.
+     */
+    private int bitCount;
+
+    /**
+     * Locales without an ordinal, created upon the first such {@link Locale}.
+     */
+    private Set<Locale> overflow;
+}
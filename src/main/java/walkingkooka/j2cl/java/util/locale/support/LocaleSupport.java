@@ -18,7 +18,7 @@
 package walkingkooka.j2cl.java.util.locale.support;
 
 import javaemul.internal.annotations.GwtIncompatible;
-import walkingkooka.collect.set.Sets;
+import walkingkooka.j2cl.java.util.locale.generated.LocaleProvider;
 import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
 import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.text.printer.IndentingPrinter;
@@ -26,7 +26,13 @@ import walkingkooka.text.printer.IndentingPrinter;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -34,13 +40,135 @@ import java.util.stream.Collectors;
 
 public final class LocaleSupport implements PublicStaticHelper {
 
+    /**
+     * Returns a read only {@link List} of the available {@link Locale locales}, which unlike
+     * {@link Locale#getAvailableLocales()} does not copy for every call.
+     */
+    public static List<Locale> availableLocales() {
+        return AvailableLocales.LOCALES;
+    }
+
+    /**
+     * Holder which is initialized once and safely published on the JVM, reads need no locking.
+     */
+    private final static class AvailableLocales {
+        final static List<Locale> LOCALES = Collections.unmodifiableList(
+            Arrays.asList(
+                Locale.getAvailableLocales()
+            )
+        );
+    }
+
+    // metrics..........................................................................................................
+
+    /**
+     * Returns the {@link LocaleMetrics} that receives counts and timings from the hot paths, by default ignoring them.
+     */
+    public static LocaleMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Replaces the {@link LocaleMetrics}. This is not available in J2CL, so there the default can never be replaced
+     * and the compiler removes all calls.
+     */
+    @GwtIncompatible
+    public static void setMetrics(final LocaleMetrics metrics) {
+        LocaleSupport.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    private static volatile LocaleMetrics metrics = NoOpLocaleMetrics.INSTANCE;
+
+    // ordinals.........................................................................................................
+
+    /**
+     * Returned by {@link #ordinal(Locale)} for locales that are not available.
+     */
+    public final static int NO_ORDINAL = -1;
+
+    /**
+     * Returns a dense and stable id for each available {@link Locale}, which is its position within
+     * {@link #availableLocales()}, or {@link #NO_ORDINAL}. Ordinals allow arrays and bitsets to be used in place of
+     * maps keyed by {@link Locale}, although each call is a hash lookup of the {@link Locale} itself.
+     */
+    public static int ordinal(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        final Integer ordinal = Ordinals.ORDINALS.get(locale);
+        return null != ordinal ?
+            ordinal :
+            NO_ORDINAL;
+    }
+
+    /**
+     * The reverse of {@link #ordinal(Locale)}.
+     */
+    public static Locale availableLocale(final int ordinal) {
+        return availableLocales()
+            .get(ordinal);
+    }
+
+    /**
+     * The number of tags in {@link LocaleProvider#DATA}, all ordinals are less than this value. The count comes from
+     * the decoded table, so unlike {@link #availableLocales()} no {@link Locale} is created.
+     */
+    public static int availableLocaleCount() {
+        return AvailableLocaleCount.COUNT;
+    }
+
+    private final static class AvailableLocaleCount {
+        final static int COUNT = availableLocaleCount0();
+
+        private static int availableLocaleCount0() {
+            try {
+                return LanguageTagTable.read(LocaleProvider.DATA)
+                    .size();
+            } catch (final IOException cause) {
+                throw new Error(cause);
+            }
+        }
+    }
+
+    /**
+     * In J2CL the available locales are exactly the tags in {@link LocaleProvider#DATA}. On the JVM they are the JDK
+     * locales, and any beyond {@link #availableLocaleCount()} are given no ordinal.
+     */
+    private final static class Ordinals {
+        final static Map<Locale, Integer> ORDINALS = ordinals();
+
+        private static Map<Locale, Integer> ordinals() {
+            final List<Locale> locales = availableLocales();
+            final int count = Math.min(
+                locales.size(),
+                availableLocaleCount()
+            );
+
+            final Map<Locale, Integer> ordinals = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                ordinals.putIfAbsent(locales.get(i), i);
+            }
+            return ordinals;
+        }
+    }
+
     public static Locale read(final DataInput data) throws IOException {
         return Locale.forLanguageTag(data.readUTF());
     }
 
+    /**
+     * Reads locales written by either {@link #writeLocales(Set, DataOutput)} or {@link #writeLocalesCompact(Set, DataOutput)}.
+     * The returned {@link LocaleSet} iterates available locales in {@link #ordinal(Locale)} order.
+     */
     public static Set<Locale> readLocales(final DataInput data) throws IOException {
         final int count = data.readInt();
-        final Set<Locale> locales = Sets.ordered();
+        return LanguageTagTable.COMPACT == count ?
+            readLocalesCompact(data) :
+            readLocales(count, data);
+    }
+
+    private static Set<Locale> readLocales(final int count,
+                                           final DataInput data) throws IOException {
+        final Set<Locale> locales = LocaleSet.create();
         for (int i = 0; i < count; i++) {
             locales.add(read(data));
         }
@@ -48,6 +176,30 @@ public final class LocaleSupport implements PublicStaticHelper {
         return locales;
     }
 
+    private static Set<Locale> readLocalesCompact(final DataInput data) throws IOException {
+        final String[] dictionary = LanguageTagTable.readDictionary(data);
+
+        final int count = data.readInt();
+        final Set<Locale> locales = LocaleSet.create();
+        final StringBuilder languageTag = new StringBuilder();
+
+        for (int i = 0; i < count; i++) {
+            languageTag.setLength(0);
+
+            final int subtagCount = data.readByte();
+            for (int j = 0; j < subtagCount; j++) {
+                if (j > 0) {
+                    languageTag.append(SUBTAG_SEPARATOR);
+                }
+                languageTag.append(dictionary[data.readShort()]);
+            }
+
+            locales.add(Locale.forLanguageTag(languageTag.toString()));
+        }
+
+        return locales;
+    }
+
     public static void write(final Locale locale,
                              final DataOutput data) throws IOException {
         data.writeUTF(locale.toLanguageTag());
@@ -85,6 +237,50 @@ public final class LocaleSupport implements PublicStaticHelper {
         }
     }
 
+    /**
+     * Writes the locales in a compact form, where each distinct subtag is written once to a dictionary, followed by
+     * each {@link Locale#toLanguageTag()} as references into that dictionary.
+     */
+    public static void writeLocalesCompact(final Set<Locale> locales,
+                                           final DataOutput data) throws IOException {
+        final Map<String, Integer> dictionary = new HashMap<>();
+        final List<int[]> references = new ArrayList<>(locales.size());
+
+        for (final Locale locale : locales) {
+            final String languageTag = locale.toLanguageTag();
+            final List<String> subtags = new ArrayList<>();
+
+            int start = 0;
+            while (start < languageTag.length()) {
+                int end = languageTag.indexOf(SUBTAG_SEPARATOR, start);
+                if (-1 == end) {
+                    end = languageTag.length();
+                }
+                subtags.add(languageTag.substring(start, end));
+                start = end + 1;
+            }
+
+            final int[] localeReferences = new int[subtags.size()];
+            for (int i = 0; i < localeReferences.length; i++) {
+                localeReferences[i] = LanguageTagTable.reference(subtags.get(i), dictionary);
+            }
+            references.add(localeReferences);
+        }
+
+        data.writeInt(LanguageTagTable.COMPACT);
+        LanguageTagTable.writeDictionary(dictionary, data);
+
+        data.writeInt(references.size());
+        for (final int[] localeReferences : references) {
+            data.writeByte(localeReferences.length);
+            for (final int reference : localeReferences) {
+                data.writeShort(reference);
+            }
+        }
+    }
+
+    private final static char SUBTAG_SEPARATOR = '-';
+
     /**
      * Returns the alternate form for the given {@link Locale} if one would exist in a JVM and has been included by the relevant provider.
      * Examples include:
@@ -93,52 +289,352 @@ public final class LocaleSupport implements PublicStaticHelper {
      * <li>"no_NO_NY" and "nn-NO"</li>
      * </ol>
      * This includes smarts so unavailable alternative locales are silent ignores.
+     * <br>
+     * Most locales have no alternative, which is found from the language alone without reading any table. The few
+     * alternatives that exist are parsed once and then shared.
      */
     public static Optional<Locale> alternatives(final Locale locale,
                                                 final boolean includeNorway) {
         Objects.requireNonNull(locale, "locale");
 
-        final Optional<Locale> alternative;
+        final String tag = alternativeTag(locale, includeNorway);
+        return null != tag ?
+            Alternatives.TAGS.computeIfAbsent(
+                tag,
+                LocaleSupport::alternative
+            ) :
+            Optional.empty();
+    }
+
+    /**
+     * Holds the parsed alternatives by language tag, which are filled on request.
+     */
+    private final static class Alternatives {
+        final static LruCache<String, Optional<Locale>> TAGS = LruCache.with(ALTERNATIVES_MAX);
+    }
+
+    /**
+     * The maximum number of parsed alternatives that will be remembered.
+     */
+    private final static int ALTERNATIVES_MAX = 128;
+
+    private static Optional<Locale> alternative(final String tag) {
+        metrics().increment(LocaleMetrics.Counter.ALTERNATIVES_COMPUTED);
+        return tryForLanguageTag(tag);
+    }
+
+    /**
+     * Returns the language tag of the alternative for the given {@link Locale} or null if it has none, without parsing.
+     */
+    private static String alternativeTag(final Locale locale,
+                                         final boolean includeNorway) {
+        final String tag;
 
         switch (locale.toString()) {
             case "nn_NO":
-                alternative = includeNorway ?
-                    tryLocaleForLanguageTag("no-no-ny") :
-                    Optional.empty();
+                tag = includeNorway ?
+                    "no-no-ny" :
+                    null;
                 break;
             case "no_NO_NY":
-                alternative = includeNorway ?
-                    tryLocaleForLanguageTag("nn-no") :
-                    Optional.empty();
+                tag = includeNorway ?
+                    "nn-no" :
+                    null;
                 break;
             default:
                 // might be one of the other specials like HE or IW.
                 final String language = locale.getLanguage();
                 final String newLanguage = WalkingkookaLanguageTag.oldToNewLanguage(language);
                 if (false == language.isEmpty() && false == language.equals(newLanguage)) {
-                    alternative = tryLocaleForLanguageTag(newLanguage + locale.toLanguageTag().substring(language.length()));// replace $oldLanguage with $newLanguage
+                    tag = newLanguage + locale.toLanguageTag().substring(language.length());// replace $oldLanguage with $newLanguage
                 } else {
-                    alternative = Optional.empty();
+                    tag = null;
                 }
                 break;
         }
 
-        return alternative;
+        return tag;
     }
 
     public final static boolean INCLUDE_NORWAY = true;
     public final static boolean IGNORE_NORWAY = false;
 
-    private static Optional<Locale> tryLocaleForLanguageTag(final String tag) {
-        Optional<Locale> alternative;
-        try {
-            alternative = Optional.of(Locale.forLanguageTag(tag));
-        } catch (final IllegalArgumentException unknownLocale) {
-            alternative = Optional.empty();
+    // candidates.......................................................................................................
+
+    /**
+     * Returns the candidate chain for the given {@link Locale}, beginning with the {@link Locale} itself, followed by
+     * its parents formed by dropping the variant and extensions, then the region and then the script, ending with
+     * {@link Locale#ROOT}.
+     * Each candidate is immediately followed by its {@link #alternatives(Locale, boolean)} if one is available.
+     * Examples include:
+     * <ol>
+     * <li>"zh-Hant-TW" gives "zh-Hant-TW", "zh-Hant", "zh", ROOT</li>
+     * <li>"nn-NO" with {@link #INCLUDE_NORWAY} gives "nn-NO", its Norwegian alternative, "nn", ROOT</li>
+     * </ol>
+     * Parents that are not well formed are skipped, and a {@link Locale} never appears more than once.
+     * <br>
+     * The read only chain is computed upon the first request and then shared, for available locales by ordinal and for
+     * all others by a small {@link LruCache}.
+     */
+    public static List<Locale> candidates(final Locale locale,
+                                          final boolean includeNorway) {
+        Objects.requireNonNull(locale, "locale");
+
+        return (includeNorway ? Candidates.INCLUDE_NORWAY : Candidates.IGNORE_NORWAY)
+            .get(locale);
+    }
+
+    /**
+     * Holds the {@link #candidates(Locale, boolean)} which are filled on request.
+     */
+    private final static class Candidates {
+        final static LocaleMemo<List<Locale>> INCLUDE_NORWAY = LocaleMemo.with(
+            l -> candidates0(l, LocaleSupport.INCLUDE_NORWAY),
+            CANDIDATES_UNAVAILABLE_MAX
+        );
+        final static LocaleMemo<List<Locale>> IGNORE_NORWAY = LocaleMemo.with(
+            l -> candidates0(l, LocaleSupport.IGNORE_NORWAY),
+            CANDIDATES_UNAVAILABLE_MAX
+        );
+    }
+
+    /**
+     * The maximum number of chains for locales that are not available that will be remembered.
+     */
+    private final static int CANDIDATES_UNAVAILABLE_MAX = 128;
+
+    // @VisibleForTesting
+    static List<Locale> candidates0(final Locale locale,
+                                    final boolean includeNorway) {
+        final List<Locale> candidates = new ArrayList<>();
+        addCandidate(
+            locale,
+            includeNorway,
+            candidates
+        );
+
+        final String language = WalkingkookaLanguageTag.oldToNewLanguage(locale.getLanguage());
+        if (false == language.isEmpty()) {
+            final String script = locale.getScript();
+            final String country = locale.getCountry();
+
+            // parents equal to an earlier candidate are ignored
+            addCandidate(
+                language,
+                script,
+                country,
+                includeNorway,
+                candidates
+            );
+            addCandidate(
+                language,
+                script,
+                "",
+                includeNorway,
+                candidates
+            );
+            addCandidate(
+                language,
+                "",
+                "",
+                includeNorway,
+                candidates
+            );
+        }
+
+        addCandidate(
+            Locale.ROOT,
+            includeNorway,
+            candidates
+        );
+
+        return Collections.unmodifiableList(candidates);
+    }
+
+    private static void addCandidate(final String language,
+                                     final String script,
+                                     final String country,
+                                     final boolean includeNorway,
+                                     final List<Locale> candidates) {
+        final StringBuilder tag = new StringBuilder();
+        tag.append(language);
+        if (false == script.isEmpty()) {
+            tag.append(SUBTAG_SEPARATOR)
+                .append(script);
+        }
+        if (false == country.isEmpty()) {
+            tag.append(SUBTAG_SEPARATOR)
+                .append(country);
+        }
+
+        final Optional<Locale> parent = tryForLanguageTag(tag.toString());
+        if (parent.isPresent()) {
+            addCandidate(
+                parent.get(),
+                includeNorway,
+                candidates
+            );
+        }
+    }
+
+    private static void addCandidate(final Locale locale,
+                                     final boolean includeNorway,
+                                     final List<Locale> candidates) {
+        addCandidate0(locale, candidates);
+
+        final Optional<Locale> alternative = alternatives(locale, includeNorway);
+        if (alternative.isPresent()) {
+            addCandidate0(alternative.get(), candidates);
+        }
+    }
+
+    private static void addCandidate0(final Locale locale,
+                                      final List<Locale> candidates) {
+        if (false == candidates.contains(locale)) {
+            candidates.add(locale);
         }
-        return alternative;
     }
 
+    // likelySubtags....................................................................................................
+
+    /**
+     * Returns the {@link Locale} with its missing script and region filled using the CLDR likely subtags, eg "zh-TW"
+     * gives "zh-Hant-TW" and "sr" gives "sr-Cyrl-RS". Variants are kept but extensions are dropped. Locales that
+     * already have a script and region, without a language, with an unknown language or a legacy variant such as
+     * "no_NO_NY" are returned unchanged.
+     * <br>
+     * Results are computed once for each {@link Locale} and then shared.
+     */
+    public static Locale addLikelySubtags(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        return LikelySubtagsMemo.ADD.get(locale);
+    }
+
+    /**
+     * The reverse of {@link #addLikelySubtags(Locale)}, returning the shortest {@link Locale} that maximizes to the same
+     * {@link Locale}, eg "zh-Hant-TW" gives "zh-TW" and "en-Latn-US" gives "en".
+     * <br>
+     * Results are computed once for each {@link Locale} and then shared.
+     */
+    public static Locale minimizeSubtags(final Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+
+        return LikelySubtagsMemo.MINIMIZE.get(locale);
+    }
+
+    private final static class LikelySubtagsMemo {
+        final static LocaleMemo<Locale> ADD = LocaleMemo.with(
+            LikelySubtags::add,
+            LIKELY_SUBTAGS_UNAVAILABLE_MAX
+        );
+        final static LocaleMemo<Locale> MINIMIZE = LocaleMemo.with(
+            LikelySubtags::minimize,
+            LIKELY_SUBTAGS_UNAVAILABLE_MAX
+        );
+    }
+
+    /**
+     * The maximum number of results for locales that are not available that will be remembered.
+     */
+    private final static int LIKELY_SUBTAGS_UNAVAILABLE_MAX = 128;
+
+    // tryForLanguageTag................................................................................................
+
+    /**
+     * A non throwing alternative to {@link Locale#forLanguageTag(String)} intended for untrusted input such as
+     * Accept-Language headers. The tag is first checked using a simple character scan, and malformed tags return
+     * {@link Optional#empty()} without ever creating an exception.
+     * <br>
+     * Well formed tags have a language of 2 to 8 letters, optionally followed by a 4 letter script, a 2 letter or 3
+     * digit region and any number of variants of up to 8 letters or digits, each separated by a dash or underscore, so
+     * "pt_BR" is the same as "pt-BR". Variants are checked leniently so tags such as "no-NO-NY" are accepted. An empty
+     * tag returns {@link Locale#ROOT}.
+     */
+    public static Optional<Locale> tryForLanguageTag(final String languageTag) {
+        Objects.requireNonNull(languageTag, "languageTag");
+
+        Optional<Locale> locale;
+        if (isWellFormed(languageTag)) {
+            try {
+                locale = Optional.of(
+                    Locale.forLanguageTag(
+                        languageTag.replace(UNDERSCORE, SUBTAG_SEPARATOR)
+                    )
+                );
+            } catch (final IllegalArgumentException unsupported) {
+                // only reached by well formed tags the emulated parser still rejects.
+                locale = Optional.empty();
+            }
+        } else {
+            locale = Optional.empty();
+        }
+        return locale;
+    }
+
+    // @VisibleForTesting
+    static boolean isWellFormed(final String languageTag) {
+        final int length = languageTag.length();
+
+        boolean wellFormed = true;
+        int state = LANGUAGE;
+        int start = 0;
+
+        while (wellFormed && start < length) {
+            boolean letters = true;
+            boolean digits = true;
+            boolean alphanumeric = true;
+
+            int end = start;
+            while (end < length) {
+                final char c = languageTag.charAt(end);
+                if (isSeparator(c)) {
+                    break;
+                }
+                final boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+                final boolean digit = c >= '0' && c <= '9';
+                letters &= letter;
+                digits &= digit;
+                alphanumeric &= letter || digit;
+                end++;
+            }
+
+            final int subtagLength = end - start;
+
+            if (LANGUAGE == state) {
+                wellFormed = letters && subtagLength >= 2 && subtagLength <= 8;
+                state = SCRIPT;
+            } else if (SCRIPT == state && letters && 4 == subtagLength) {
+                state = REGION;
+            } else if (state <= REGION && (letters && 2 == subtagLength || digits && 3 == subtagLength)) {
+                state = VARIANT;
+            } else {
+                wellFormed = alphanumeric && subtagLength > 0 && subtagLength <= 8;
+                state = VARIANT;
+            }
+
+            start = end + 1;
+
+            // a trailing separator
+            if (end < length && start == length) {
+                wellFormed = false;
+            }
+        }
+
+        return wellFormed;
+    }
+
+    private static boolean isSeparator(final char c) {
+        return SUBTAG_SEPARATOR == c || UNDERSCORE == c;
+    }
+
+    private final static char UNDERSCORE = '_';
+
+    private final static int LANGUAGE = 0;
+    private final static int SCRIPT = 1;
+    private final static int REGION = 2;
+    private final static int VARIANT = 3;
+
     private LocaleSupport() {
         throw new UnsupportedOperationException();
     }
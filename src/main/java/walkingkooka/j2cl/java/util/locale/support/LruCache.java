@@ -0,0 +1,246 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A small bounded cache which discards the least recently used entry once full, backed by an access ordered
+ * {@link LinkedHashMap}. Null keys and values are not supported.
+ * <br>
+ * All methods lock the cache on the JVM, values are computed outside the lock so a slow computation never blocks
+ * readers, which means two threads may occasionally compute the same value, but only the first value is kept and it is
+ * returned to both.
+ * <br>
+ * Hits, misses and evictions are counted and given to an optional {@link Listener}, so the maximum size may be tuned.
+ */
+public final class LruCache<K, V> {
+
+    /**
+     * Creates a new empty {@link LruCache} holding at most the given number of entries.
+     */
+    public static <K, V> LruCache<K, V> with(final int max) {
+        return with(
+            max,
+            NO_LISTENER
+        );
+    }
+
+    /**
+     * Creates a new empty {@link LruCache} holding at most the given number of entries, which reports to the given
+     * {@link Listener}.
+     */
+    public static <K, V> LruCache<K, V> with(final int max,
+                                             final Listener listener) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("Invalid max " + max + " <= 0");
+        }
+        Objects.requireNonNull(listener, "listener");
+
+        return new LruCache<>(
+            max,
+            listener
+        );
+    }
+
+    /**
+     * Receives each hit, miss and eviction, for example to report them to a metrics system.
+     */
+    public interface Listener {
+
+        default void hit() {
+            // nop
+        }
+
+        default void miss() {
+            // nop
+        }
+
+        default void eviction() {
+            // nop
+        }
+    }
+
+    private final static Listener NO_LISTENER = new Listener() {
+    };
+
+    private LruCache(final int max,
+                     final Listener listener) {
+        super();
+        this.max = max;
+        this.listener = listener;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                final boolean evict = this.size() > LruCache.this.max;
+                if (evict) {
+                    LruCache.this.evictionCount++;
+                    LruCache.this.listener.eviction();
+                }
+                return evict;
+            }
+
+            private static final long serialVersionUID = 1L;
+        };
+    }
+
+    /**
+     * Returns the value for the given key or null, marking the entry as the most recently used.
+     */
+    public V get(final K key) {
+        Objects.requireNonNull(key, "key");
+
+        // synchronized is ignored by J2CL
+        synchronized (this.entries) {
+            final V value = this.entries.get(key);
+            if (null == value) {
+                this.missCount++;
+                this.listener.miss();
+            } else {
+                this.hitCount++;
+                this.listener.hit();
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Adds or replaces the value for the given key, which may discard the least recently used entry.
+     */
+    public void put(final K key,
+                    final V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+
+        synchronized (this.entries) {
+            this.entries.put(key, value);
+        }
+    }
+
+    /**
+     * Adds the value only if the key is absent, returning the existing value or null. An existing entry is marked as
+     * the most recently used.
+     */
+    public V putIfAbsent(final K key,
+                         final V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+
+        synchronized (this.entries) {
+            final V existing = this.entries.get(key);
+            if (null == existing) {
+                this.entries.put(key, value);
+            }
+            return existing;
+        }
+    }
+
+    /**
+     * Returns the cached value for the given key, computing and caching it when absent. When two threads race to
+     * compute the same key, both receive the value that was cached first.
+     */
+    public V computeIfAbsent(final K key,
+                             final Function<? super K, ? extends V> compute) {
+        Objects.requireNonNull(compute, "compute");
+
+        V value = this.get(key);
+        if (null == value) {
+            final V computed = compute.apply(key);
+            final V existing = this.putIfAbsent(key, computed);
+            value = null != existing ?
+                existing :
+                computed;
+        }
+        return value;
+    }
+
+    /**
+     * The number of entries currently cached.
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * The maximum number of entries.
+     */
+    public int max() {
+        return this.max;
+    }
+
+    private final int max;
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    private final LinkedHashMap<K, V> entries;
+
+    private final Listener listener;
+
+    // counters.........................................................................................................
+
+    /**
+     * The number of {@link #get(Object)} that found a value.
+     */
+    public int hitCount() {
+        synchronized (this.entries) {
+            return this.hitCount;
+        }
+    }
+
+    private int hitCount;
+
+    /**
+     * The number of {@link #get(Object)} that did not find a value.
+     */
+    public int missCount() {
+        synchronized (this.entries) {
+            return this.missCount;
+        }
+    }
+
+    private int missCount;
+
+    /**
+     * The number of entries discarded to stay within {@link #max()}.
+     */
+    public int evictionCount() {
+        synchronized (this.entries) {
+            return this.evictionCount;
+        }
+    }
+
+    private int evictionCount;
+
+    @Override
+    public String toString() {
+        synchronized (this.entries) {
+            return this.entries.toString();
+        }
+    }
+}
@@ -19,7 +19,9 @@ package walkingkooka.j2cl.java.util.locale.support;
 
 import java.util.Collection;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 public final class MultiLocaleValue<T> implements Predicate<Locale> {
@@ -33,6 +35,17 @@ public final class MultiLocaleValue<T> implements Predicate<Locale> {
             .value;
     }
 
+    /**
+     * Evaluates all predicates once against every available {@link Locale}, returning a {@link Function} that gives the
+     * same result as {@link #findValue(Collection, Locale)} with a single table read for available locales. Locales
+     * that are not available are still evaluated against each predicate. The predicates must not change once compiled.
+     */
+    public static <T> Function<Locale, T> compile(final Collection<MultiLocaleValue<T>> multi) {
+        Objects.requireNonNull(multi, "multi");
+
+        return MultiLocaleValueTable.with(multi);
+    }
+
     public static <T> MultiLocaleValue<T> with(final T value,
                                                final Predicate<Locale> locales,
                                                final boolean includeNorway) {
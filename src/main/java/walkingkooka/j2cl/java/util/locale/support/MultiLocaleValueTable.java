@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * The result of {@link MultiLocaleValue#compile(Collection)}, which holds the first matching {@link MultiLocaleValue}
+ * for every available {@link Locale}. Other locales fall back to {@link MultiLocaleValue#findValue(Collection, Locale)}.
+ */
+final class MultiLocaleValueTable<T> implements Function<Locale, T> {
+
+    static <T> MultiLocaleValueTable<T> with(final Collection<MultiLocaleValue<T>> multi) {
+        final List<MultiLocaleValue<T>> copy = new ArrayList<>(multi);
+        final LocaleMap<MultiLocaleValue<T>> table = LocaleMap.create();
+
+        for (final Locale locale : LocaleSupport.availableLocales()) {
+            for (final MultiLocaleValue<T> possible : copy) {
+                if (possible.test(locale)) {
+                    table.put(locale, possible);
+                    break;
+                }
+            }
+        }
+
+        return new MultiLocaleValueTable<>(copy, table);
+    }
+
+    private MultiLocaleValueTable(final List<MultiLocaleValue<T>> multi,
+                                  final LocaleMap<MultiLocaleValue<T>> table) {
+        super();
+        this.multi = multi;
+        this.table = table;
+    }
+
+    @Override
+    public T apply(final Locale locale) {
+        final MultiLocaleValue<T> value = this.table.get(locale);
+        return null != value ?
+            value.value :
+            MultiLocaleValue.findValue(this.multi, locale);
+    }
+
+    /**
+     * Used to evaluate locales that are missing from {@link #table}.
+     */
+    private final List<MultiLocaleValue<T>> multi;
+
+    private final LocaleMap<MultiLocaleValue<T>> table;
+
+    @Override
+    public String toString() {
+        return this.multi.toString();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+/**
+ * The default {@link LocaleMetrics} which ignores everything. In J2CL it can never be replaced, which allows the
+ * compiler to remove the calls completely.
+ */
+final class NoOpLocaleMetrics implements LocaleMetrics {
+
+    /**
+     * Singleton
+     */
+    final static NoOpLocaleMetrics INSTANCE = new NoOpLocaleMetrics();
+
+    private NoOpLocaleMetrics() {
+        super();
+    }
+
+    @Override
+    public void increment(final Counter counter) {
+        // nop
+    }
+
+    @Override
+    public long start() {
+        return 0;
+    }
+
+    @Override
+    public void time(final Timer timer,
+                     final long start) {
+        // nop
+    }
+
+    @Override
+    public String toString() {
+        return "NoOp";
+    }
+}
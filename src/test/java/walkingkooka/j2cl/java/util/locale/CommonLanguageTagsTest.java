@@ -0,0 +1,282 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.j2cl.java.util.locale.generated.LocaleProvider;
+import walkingkooka.j2cl.java.util.locale.support.LanguageTagTable;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CharSequences;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class CommonLanguageTagsTest implements ClassTesting2<CommonLanguageTags> {
+
+    @Test
+    public void testIsCommonLanguage() {
+        this.isCommonAndCheck("en", true);
+    }
+
+    @Test
+    public void testIsCommonLanguage3() {
+        this.isCommonAndCheck("haw", true);
+    }
+
+    @Test
+    public void testIsCommonLanguageRegion() {
+        this.isCommonAndCheck("en-AU", true);
+    }
+
+    @Test
+    public void testIsCommonLanguageNumericRegion() {
+        this.isCommonAndCheck("es-419", true);
+    }
+
+    @Test
+    public void testIsCommonLanguageScript() {
+        this.isCommonAndCheck("zh-Hant", true);
+    }
+
+    @Test
+    public void testIsCommonLanguageScriptRegion() {
+        this.isCommonAndCheck("zh-Hant-TW", true);
+    }
+
+    @Test
+    public void testIsCommonEmpty() {
+        this.isCommonAndCheck("", false);
+    }
+
+    @Test
+    public void testIsCommonLanguageTooShort() {
+        this.isCommonAndCheck("e", false);
+    }
+
+    @Test
+    public void testIsCommonLanguageTooLong() {
+        this.isCommonAndCheck("engl", false);
+    }
+
+    @Test
+    public void testIsCommonUpperCaseLanguage() {
+        this.isCommonAndCheck("EN", true);
+    }
+
+    @Test
+    public void testIsCommonLowerCaseRegion() {
+        this.isCommonAndCheck("en-au", true);
+    }
+
+    @Test
+    public void testIsCommonUpperCaseScript() {
+        this.isCommonAndCheck("zh-HANT", true);
+    }
+
+    @Test
+    public void testIsCommonUnderscore() {
+        this.isCommonAndCheck("en_AU", true);
+    }
+
+    @Test
+    public void testIsCommonUnderscoreScriptRegion() {
+        this.isCommonAndCheck("zh_Hant_TW", true);
+    }
+
+    @Test
+    public void testIsCommonExtendedLanguage() {
+        this.isCommonAndCheck("zh-yue", false);
+    }
+
+    @Test
+    public void testIsCommonEmptySubtag() {
+        this.isCommonAndCheck("en--AU", false);
+    }
+
+    @Test
+    public void testIsCommonTrailingSeparator() {
+        this.isCommonAndCheck("en-", false);
+    }
+
+    @Test
+    public void testIsCommonScriptTrailingSeparator() {
+        this.isCommonAndCheck("zh-Hant-", false);
+    }
+
+    @Test
+    public void testIsCommonRegionTooLong() {
+        this.isCommonAndCheck("en-AUS", false);
+    }
+
+    @Test
+    public void testIsCommonVariant() {
+        this.isCommonAndCheck("ca-ES-VALENCIA", false);
+    }
+
+    @Test
+    public void testIsCommonPrivateUse() {
+        this.isCommonAndCheck("en-x-private", false);
+    }
+
+    private void isCommonAndCheck(final String languageTag,
+                                  final boolean expected) {
+        this.checkEquals(
+            expected,
+            CommonLanguageTags.isCommon(languageTag),
+            () -> "isCommon " + CharSequences.quoteAndEscape(languageTag)
+        );
+    }
+
+    @Test
+    public void testForLanguageTagLanguage() {
+        this.forLanguageTagAndCheck("en");
+    }
+
+    @Test
+    public void testForLanguageTagLanguageRegion() {
+        this.forLanguageTagAndCheck("en-AU");
+    }
+
+    @Test
+    public void testForLanguageTagLanguageRegionOtherCase() {
+        this.forLanguageTagAndCheck("EN-au");
+    }
+
+    @Test
+    public void testForLanguageTagLanguageRegionUnderscore() {
+        this.forLanguageTagAndCheck("en_AU");
+    }
+
+    @Test
+    public void testForLanguageTagLanguageScript() {
+        this.forLanguageTagAndCheck("zh-Hant");
+    }
+
+    @Test
+    public void testForLanguageTagLanguageScriptRegion() {
+        this.forLanguageTagAndCheck("zh_hant_tw");
+    }
+
+    @Test
+    public void testForLanguageTagNewLanguageForm() {
+        this.forLanguageTagAndCheck("he-IL");
+    }
+
+    @Test
+    public void testForLanguageTagOldLanguageForm() {
+        this.forLanguageTagAndCheck("iw-IL");
+    }
+
+    @Test
+    public void testForLanguageTagAllAvailable() {
+        final LocaleIndex index = index();
+
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final String tag = locale.toLanguageTag();
+            if (CommonLanguageTags.isCommon(tag)) {
+                this.forLanguageTagAndCheck(index, tag);
+                this.forLanguageTagAndCheck(index, tag.toUpperCase());
+                this.forLanguageTagAndCheck(index, tag.replace('-', '_'));
+            }
+        }
+    }
+
+    @Test
+    public void testForLanguageTagUnavailableLanguage() {
+        this.forLanguageTagNullAndCheck("qaa");
+    }
+
+    @Test
+    public void testForLanguageTagUnavailableRegion() {
+        this.forLanguageTagNullAndCheck("en-QM");
+    }
+
+    @Test
+    public void testForLanguageTagVariant() {
+        this.forLanguageTagNullAndCheck("ca-ES-VALENCIA");
+    }
+
+    /**
+     * Available tags must resolve to the same {@link Locale} as the general lookups of {@link LocaleIndex}.
+     */
+    private void forLanguageTagAndCheck(final String languageTag) {
+        this.forLanguageTagAndCheck(
+            index(),
+            languageTag
+        );
+    }
+
+    private void forLanguageTagAndCheck(final LocaleIndex index,
+                                        final String languageTag) {
+        final WalkingkookaLanguageTag tag = WalkingkookaLanguageTag.parse(languageTag);
+        final String language = tag.language();
+        final String country = tag.country();
+
+        final Locale expected = country.isEmpty() ?
+            index.get(tag) :
+            index.find(
+                language,
+                WalkingkookaLanguageTag.newToOldLanguage(language),
+                country,
+                WalkingkookaLanguageTag.newToOldLanguage(country),
+                tag.script(),
+                tag.variant()
+            );
+        assertNotNull(expected, () -> "general " + CharSequences.quoteAndEscape(languageTag));
+
+        assertSame(
+            expected,
+            CommonLanguageTags.forLanguageTag(languageTag, index),
+            () -> "forLanguageTag " + CharSequences.quoteAndEscape(languageTag)
+        );
+    }
+
+    private void forLanguageTagNullAndCheck(final String languageTag) {
+        assertNull(
+            CommonLanguageTags.forLanguageTag(languageTag, index()),
+            () -> "forLanguageTag " + CharSequences.quoteAndEscape(languageTag)
+        );
+    }
+
+    private static LocaleIndex index() {
+        try {
+            return LocaleIndex.with(
+                LanguageTagTable.read(LocaleProvider.DATA)
+            );
+        } catch (final IOException cause) {
+            throw new Error(cause);
+        }
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<CommonLanguageTags> type() {
+        return CommonLanguageTags.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
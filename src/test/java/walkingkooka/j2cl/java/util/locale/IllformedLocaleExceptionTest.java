@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.javashader.ShadedClassTesting;
+import walkingkooka.predicate.Predicates;
+import walkingkooka.reflect.PackageName;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+public final class IllformedLocaleExceptionTest implements ShadedClassTesting<IllformedLocaleException> {
+
+    @Test
+    public void testMessage() {
+        this.check(
+            new java.util.IllformedLocaleException("Ill-formed"),
+            new IllformedLocaleException("Ill-formed")
+        );
+    }
+
+    @Test
+    public void testMessageErrorIndex() {
+        this.check(
+            new java.util.IllformedLocaleException("Ill-formed", 2),
+            new IllformedLocaleException("Ill-formed", 2)
+        );
+    }
+
+    @Test
+    public void testMessageNegativeErrorIndex() {
+        this.check(
+            new java.util.IllformedLocaleException("Ill-formed", -1),
+            new IllformedLocaleException("Ill-formed", -1)
+        );
+    }
+
+    @Test
+    public void testWithoutMessage() {
+        this.check(
+            new java.util.IllformedLocaleException(),
+            new IllformedLocaleException()
+        );
+    }
+
+    private void check(final java.util.IllformedLocaleException jdk,
+                       final IllformedLocaleException emulated) {
+        this.checkEquals(jdk.getMessage(), emulated.getMessage(), "message");
+        this.checkEquals(jdk.getErrorIndex(), emulated.getErrorIndex(), "errorIndex");
+    }
+
+    // ShadedClassTesting................................................................................................
+
+    @Override
+    public Class<IllformedLocaleException> type() {
+        return IllformedLocaleException.class;
+    }
+
+    @Override
+    public Predicate<Constructor<?>> requiredConstructors() {
+        return Predicates.always();
+    }
+
+    @Override
+    public Predicate<Method> requiredMethods() {
+        return Predicates.always();
+    }
+
+    @Override
+    public Predicate<Field> requiredFields() {
+        return Predicates.always();
+    }
+
+    @Override
+    public UnaryOperator<Class<?>> typeMapper() {
+        return ShadedClassTesting.typeMapper(PackageName.from(this.getClass().getPackage()),
+            PackageName.from(java.util.Locale.class.getPackage()));
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleBuilderTest implements ClassTesting2<Locale.Builder> {
+
+    @Test
+    public void testBuildEmpty() {
+        assertSame(Locale.ROOT, new Locale.Builder().build());
+    }
+
+    @Test
+    public void testBuildLanguage() {
+        this.buildAndCheck(
+            b -> b.setLanguage("en"),
+            java.util.Locale.Builder::build,
+            j -> j.setLanguage("en")
+        );
+    }
+
+    @Test
+    public void testBuildLanguageRegion() {
+        this.buildAndCheck(
+            b -> b.setLanguage("EN").setRegion("au"),
+            java.util.Locale.Builder::build,
+            j -> j.setLanguage("EN").setRegion("au")
+        );
+    }
+
+    @Test
+    public void testBuildLanguageScriptRegion() {
+        this.buildAndCheck(
+            b -> b.setLanguage("zh").setScript("hANT").setRegion("TW"),
+            java.util.Locale.Builder::build,
+            j -> j.setLanguage("zh").setScript("hANT").setRegion("TW")
+        );
+    }
+
+    @Test
+    public void testBuildNumericRegion() {
+        this.buildAndCheck(
+            b -> b.setLanguage("es").setRegion("419"),
+            java.util.Locale.Builder::build,
+            j -> j.setLanguage("es").setRegion("419")
+        );
+    }
+
+    @Test
+    public void testBuildLanguageTag() {
+        this.buildAndCheck(
+            b -> b.setLanguageTag("ca-ES-VALENCIA"),
+            java.util.Locale.Builder::build,
+            j -> j.setLanguageTag("ca-ES-VALENCIA")
+        );
+    }
+
+    @Test
+    public void testBuildSetLocale() {
+        final Locale locale = Locale.forLanguageTag("zh-Hant-TW");
+        assertSame(
+            locale,
+            new Locale.Builder()
+                .setLocale(locale)
+                .build()
+        );
+    }
+
+    @Test
+    public void testBuildSetLocaleNoNoNy() {
+        this.checkEquals(
+            "nn_NO",
+            new Locale.Builder()
+                .setLocale(new Locale("no", "NO", "NY"))
+                .build()
+                .toString()
+        );
+    }
+
+    @Test
+    public void testBuildAvailableSameInstance() {
+        final Locale.Builder builder = new Locale.Builder();
+
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final String language = locale.getLanguage();
+
+            // languages with old and new forms such as "he" and "iw" have two available locales with the same getLanguage.
+            if (locale.getVariant().isEmpty() && WalkingkookaLanguageTag.oldToNewLanguage(language).equals(language)) {
+                assertSame(
+                    locale,
+                    builder.clear()
+                        .setLanguage(language)
+                        .setScript(locale.getScript())
+                        .setRegion(locale.getCountry())
+                        .build(),
+                    () -> "build " + locale
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testBuildAfterClear() {
+        final Locale.Builder builder = new Locale.Builder()
+            .setLanguage("en")
+            .setRegion("AU");
+        builder.build();
+
+        this.checkEquals(
+            Locale.forLanguageTag("fr"),
+            builder.clear()
+                .setLanguage("fr")
+                .build()
+        );
+    }
+
+    @Test
+    public void testBuildTwice() {
+        final Locale.Builder builder = new Locale.Builder()
+            .setLanguage("en")
+            .setRegion("AU");
+        assertSame(builder.build(), builder.build());
+    }
+
+    @Test
+    public void testSetLanguageTooShortFails() {
+        this.setFails(b -> b.setLanguage("e"), "Ill-formed language: e [at index 0]");
+    }
+
+    @Test
+    public void testSetLanguageDigitFails() {
+        this.setFails(b -> b.setLanguage("e1"), "Ill-formed language: e1 [at index 0]");
+    }
+
+    @Test
+    public void testSetScriptFails() {
+        this.setFails(b -> b.setScript("Lat"), "Ill-formed script: Lat [at index 0]");
+    }
+
+    @Test
+    public void testSetRegionFails() {
+        this.setFails(b -> b.setRegion("AUS"), "Ill-formed region: AUS [at index 0]");
+    }
+
+    @Test
+    public void testSetVariantFails() {
+        this.setFails(b -> b.setVariant("NY"), "Ill-formed variant: NY [at index 0]");
+    }
+
+    @Test
+    public void testSetVariantTrailingSeparatorFails() {
+        this.setFails(b -> b.setVariant("abcde-"), "Ill-formed variant: abcde- [at index 6]");
+    }
+
+    @Test
+    public void testSetFailsKeepsPrevious() {
+        final Locale.Builder builder = new Locale.Builder()
+            .setLanguage("en");
+
+        assertThrows(
+            IllformedLocaleException.class,
+            () -> builder.setLanguage("!")
+        );
+
+        this.checkEquals(
+            Locale.forLanguageTag("en"),
+            builder.build()
+        );
+    }
+
+    private void setFails(final Consumer<Locale.Builder> setter,
+                          final String message) {
+        final IllformedLocaleException thrown = assertThrows(
+            IllformedLocaleException.class,
+            () -> setter.accept(new Locale.Builder())
+        );
+        this.checkEquals(message, thrown.getMessage(), "message");
+    }
+
+    private void buildAndCheck(final Function<Locale.Builder, Locale.Builder> builder,
+                               final Function<java.util.Locale.Builder, java.util.Locale> jdkBuild,
+                               final Function<java.util.Locale.Builder, java.util.Locale.Builder> jdkBuilder) {
+        final java.util.Locale jdk = jdkBuild.apply(
+            jdkBuilder.apply(new java.util.Locale.Builder())
+        );
+        final Locale emulated = builder.apply(new Locale.Builder())
+            .build();
+
+        this.checkEquals(jdk.getLanguage(), emulated.getLanguage(), "language");
+        this.checkEquals(jdk.getScript(), emulated.getScript(), "script");
+        this.checkEquals(jdk.getCountry(), emulated.getCountry(), "country");
+        this.checkEquals(jdk.getVariant(), emulated.getVariant(), "variant");
+        this.checkEquals(Locale.forLanguageTag(jdk.toLanguageTag()), emulated, "forLanguageTag");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<Locale.Builder> type() {
+        return Locale.Builder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.j2cl.java.util.locale.generated.LocaleProvider;
+import walkingkooka.j2cl.java.util.locale.support.LanguageTagTable;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class LocaleIndexTest implements ClassTesting2<LocaleIndex> {
+
+    @Test
+    public void testFindAllAvailableLocales() {
+        final Locale[] available = Locale.getAvailableLocales();
+        final LocaleIndex index = index();
+
+        for (final Locale locale : available) {
+            this.findAndCheck(index,
+                available,
+                locale.getLanguage(),
+                locale.getCountry(),
+                locale.getScript(),
+                locale.getVariant());
+        }
+    }
+
+    @Test
+    public void testFindNewLanguageForm() {
+        this.findAndCheck("he", "IL", "", "");
+    }
+
+    @Test
+    public void testFindOldLanguageForm() {
+        this.findAndCheck("iw", "IL", "", "");
+    }
+
+    @Test
+    public void testFindUnknownCountry() {
+        this.findAndCheck("en", "XYZ", "", "");
+    }
+
+    @Test
+    public void testFindCountryBecomesLanguage() {
+        this.findAndCheck("xxx", "en", "", "");
+    }
+
+    @Test
+    public void testFindCountryBecomesLanguageNewLanguageForm() {
+        this.findAndCheck("xxx", "he", "", "");
+    }
+
+    @Test
+    public void testFindMissing() {
+        this.findAndCheck("xxx", "yyy", "", "");
+    }
+
+    private void findAndCheck(final String language,
+                              final String country,
+                              final String script,
+                              final String variant) {
+        final Locale[] available = Locale.getAvailableLocales();
+
+        this.findAndCheck(
+            index(),
+            available,
+            language,
+            country,
+            script,
+            variant
+        );
+    }
+
+    private void findAndCheck(final LocaleIndex index,
+                              final Locale[] available,
+                              final String language,
+                              final String country,
+                              final String script,
+                              final String variant) {
+        final String language2 = WalkingkookaLanguageTag.newToOldLanguage(language);
+        final String country2 = WalkingkookaLanguageTag.newToOldLanguage(country);
+
+        final Locale expected = scan(available, language, language2, country, country2, script, variant);
+        final Locale found = index.find(language, language2, country, country2, script, variant);
+
+        this.checkEquals(
+            expected,
+            found,
+            () -> "find " + language + " " + country + " " + script + " " + variant
+        );
+        if (null != expected) {
+            int ordinal = 0;
+            while (available[ordinal] != expected) {
+                ordinal++;
+            }
+            assertSame(
+                index.locale(ordinal),
+                found,
+                () -> "find ordinal " + language + " " + country + " " + script + " " + variant
+            );
+        }
+    }
+
+    @Test
+    public void testFindCreatesOnlyLanguageShard() {
+        final LocaleIndex index = index();
+        this.checkEquals(0, index.createdShardCount(), "shards before find");
+
+        final Locale locale = index.find("en", "en", "AU", "AU", "", "");
+        this.checkEquals("en_AU", locale.toString());
+        this.checkEquals(1, index.createdShardCount(), "shards after find");
+    }
+
+    @Test
+    public void testLocaleSameInstance() {
+        final LocaleIndex index = index();
+
+        for (int i = 0; i < index.size(); i++) {
+            assertSame(index.locale(i), index.locale(i));
+        }
+    }
+
+    @Test
+    public void testLocaleAndGet() {
+        final LocaleIndex index = index();
+
+        for (int i = 0; i < index.size(); i++) {
+            final Locale locale = index.locale(i);
+            assertSame(locale, index.get(locale.tag), () -> "get " + locale);
+        }
+    }
+
+    private static LocaleIndex index() {
+        try {
+            return LocaleIndex.with(
+                LanguageTagTable.read(LocaleProvider.DATA)
+            );
+        } catch (final IOException cause) {
+            throw new Error(cause);
+        }
+    }
+
+    /**
+     * The linear scan previously performed by {@link Locale#forLanguageTag(String)}.
+     */
+    private static Locale scan(final Locale[] available,
+                               final String language,
+                               final String language2,
+                               final String country,
+                               final String country2,
+                               final String script,
+                               final String variant) {
+        Locale locale = null;
+
+        for (final Locale possible : available) {
+            final String possibleLanguage = possible.getLanguage();
+            final String possibleCountry = possible.getCountry();
+            final String possibleScript = possible.getScript();
+            final String possibleVariant = possible.getVariant();
+
+            if (language.equals(possibleLanguage) || language2.equals(possibleLanguage)) {
+                if (country.equals(possibleCountry) && script.equals(possibleScript) && variant.equals(possibleVariant)) {
+                    locale = possible;
+                    break;
+                }
+            }
+
+            if (country.equals(possibleLanguage) || country2.equals(possibleLanguage)) {
+                if (possibleScript.isEmpty() && possibleVariant.isEmpty()) {
+                    locale = possible;
+                }
+            }
+        }
+
+        return locale;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleIndex> type() {
+        return LocaleIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleLanguageRangeTest implements ClassTesting2<Locale.LanguageRange>,
+    HashCodeEqualsDefinedTesting2<Locale.LanguageRange>,
+    ToStringTesting<Locale.LanguageRange> {
+
+    @Test
+    public void testNullRangeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> new Locale.LanguageRange(null)
+        );
+    }
+
+    @Test
+    public void testWeightTooSmallFails() {
+        this.newFails("en", -0.1);
+    }
+
+    @Test
+    public void testWeightTooLargeFails() {
+        this.newFails("en", 1.1);
+    }
+
+    @Test
+    public void testEmptyFails() {
+        this.newFails("", 1.0);
+    }
+
+    @Test
+    public void testTrailingSeparatorFails() {
+        this.newFails("en-", 1.0);
+    }
+
+    @Test
+    public void testEmptySubtagFails() {
+        this.newFails("en--au", 1.0);
+    }
+
+    @Test
+    public void testFirstSubtagDigitFails() {
+        this.newFails("e1", 1.0);
+    }
+
+    @Test
+    public void testSubtagTooLongFails() {
+        this.newFails("en-abcdefghi", 1.0);
+    }
+
+    @Test
+    public void testInvalidCharacterFails() {
+        this.newFails("en_au", 1.0);
+    }
+
+    private void newFails(final String range,
+                          final double weight) {
+        final IllegalArgumentException jdk = assertThrows(
+            IllegalArgumentException.class,
+            () -> new java.util.Locale.LanguageRange(range, weight)
+        );
+        final IllegalArgumentException emulated = assertThrows(
+            IllegalArgumentException.class,
+            () -> new Locale.LanguageRange(range, weight)
+        );
+        this.checkEquals(jdk.getMessage(), emulated.getMessage(), "message");
+    }
+
+    @Test
+    public void testNew() {
+        this.newAndCheck("en", 1.0);
+    }
+
+    @Test
+    public void testNewUpperCase() {
+        this.newAndCheck("EN-AU", 0.5);
+    }
+
+    @Test
+    public void testNewWildcard() {
+        this.newAndCheck("*", 1.0);
+    }
+
+    @Test
+    public void testNewExtended() {
+        this.newAndCheck("zh-*-TW", 0.0);
+    }
+
+    @Test
+    public void testNewDigits() {
+        this.newAndCheck("de-ch-1996", 1.0);
+    }
+
+    private void newAndCheck(final String range,
+                             final double weight) {
+        final java.util.Locale.LanguageRange jdk = new java.util.Locale.LanguageRange(range, weight);
+        final Locale.LanguageRange emulated = new Locale.LanguageRange(range, weight);
+
+        this.checkEquals(jdk.getRange(), emulated.getRange(), "range");
+        this.checkEquals(jdk.getWeight(), emulated.getWeight(), "weight");
+        this.checkEquals(jdk.toString(), emulated.toString(), "toString");
+    }
+
+    @Test
+    public void testParseWithMap() {
+        final Map<String, List<String>> map = Maps.of(
+            "EN",
+            Lists.of("en", "en-Latn")
+        );
+
+        this.checkEquals(
+            java.util.Locale.LanguageRange.parse("en-AU;q=0.5,fr", map)
+                .toString(),
+            Locale.LanguageRange.parse("en-AU;q=0.5,fr", map)
+                .toString()
+        );
+    }
+
+    @Test
+    public void testMapEquivalentsEmptyMap() {
+        final List<Locale.LanguageRange> ranges = Locale.LanguageRange.parse("en,fr");
+
+        this.checkEquals(
+            ranges,
+            Locale.LanguageRange.mapEquivalents(ranges, Maps.empty())
+        );
+    }
+
+    @Test
+    public void testMapEquivalentsRemoved() {
+        final Map<String, List<String>> map = Maps.of(
+            "fr",
+            Lists.empty()
+        );
+
+        this.checkEquals(
+            java.util.Locale.LanguageRange.parse("en,fr-ca", map)
+                .toString(),
+            Locale.LanguageRange.parse("en,fr-ca", map)
+                .toString()
+        );
+    }
+
+    @Test
+    public void testDifferentRange() {
+        this.checkNotEquals(new Locale.LanguageRange("fr", 0.5));
+    }
+
+    @Test
+    public void testDifferentWeight() {
+        this.checkNotEquals(new Locale.LanguageRange("en-au", 1.0));
+    }
+
+    @Test
+    public void testEqualsDifferentCase() {
+        this.checkEquals(new Locale.LanguageRange("EN-AU", 0.5));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createObject(), "en-au;q=0.5");
+    }
+
+    @Test
+    public void testToStringMaxWeight() {
+        this.toStringAndCheck(new Locale.LanguageRange("en-AU"), "en-au");
+    }
+
+    @Override
+    public Locale.LanguageRange createObject() {
+        return new Locale.LanguageRange("en-au", 0.5);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<Locale.LanguageRange> type() {
+        return Locale.LanguageRange.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
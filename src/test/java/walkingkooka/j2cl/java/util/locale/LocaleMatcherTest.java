@@ -0,0 +1,419 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public final class LocaleMatcherTest implements ClassTesting2<LocaleMatcher> {
+
+    private final static List<String> TAGS = Lists.of(
+        "en",
+        "en-AU",
+        "en-US",
+        "EN-gb",
+        "en-Latn-AU",
+        "de-DE",
+        "de-CH-1996",
+        "fr",
+        "fr-CA",
+        "he-IL",
+        "iw-IL",
+        "zh-Hant-TW",
+        "zh-Hans-CN",
+        "zh-TW",
+        "sr-Cyrl-RS",
+        "sr-Latn-RS",
+        "ja-JP-u-ca-japanese",
+        "de-DE-x-goethe",
+        "en-au"
+    );
+
+    // filterTags.......................................................................................................
+
+    @Test
+    public void testFilterTagsBasic() {
+        this.filterTagsAndCheck("en");
+    }
+
+    @Test
+    public void testFilterTagsBasicRegion() {
+        this.filterTagsAndCheck("en-au");
+    }
+
+    @Test
+    public void testFilterTagsBasicSeveral() {
+        this.filterTagsAndCheck("de-de;q=1.0,en;q=0.8,fr;q=0.5");
+    }
+
+    @Test
+    public void testFilterTagsWildcard() {
+        this.filterTagsAndCheck("*");
+    }
+
+    @Test
+    public void testFilterTagsWildcardAndZeroWeight() {
+        this.filterTagsAndCheck("*,en;q=0");
+    }
+
+    @Test
+    public void testFilterTagsZeroWeight() {
+        this.filterTagsAndCheck("en,en-au;q=0");
+    }
+
+    @Test
+    public void testFilterTagsExtended() {
+        this.filterTagsAndCheck("*-au");
+    }
+
+    @Test
+    public void testFilterTagsExtended2() {
+        this.filterTagsAndCheck("zh-*-tw");
+    }
+
+    @Test
+    public void testFilterTagsExtended3() {
+        this.filterTagsAndCheck("de-*-de");
+    }
+
+    @Test
+    public void testFilterTagsExtendedAndBasic() {
+        this.filterTagsAndCheck("sr-*-rs;q=0.5,en-au");
+    }
+
+    @Test
+    public void testFilterTagsEquivalentLanguage() {
+        this.filterTagsAndCheck("he");
+    }
+
+    @Test
+    public void testFilterTagsRandom() {
+        final Random random = new Random(1);
+        final String[] languages = {"en", "de", "fr", "he", "iw", "zh", "ja", "sr", "*"};
+        final String[] subtags = {"au", "us", "gb", "tw", "cn", "rs", "il", "latn", "hant", "cyrl", "x", "u", "ca", "*", "1996"};
+
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder ranges = new StringBuilder();
+            final int count = 1 + random.nextInt(4);
+
+            for (int j = 0; j < count; j++) {
+                if (j > 0) {
+                    ranges.append(',');
+                }
+                ranges.append(languages[random.nextInt(languages.length)]);
+
+                final int subtagCount = random.nextInt(3);
+                for (int k = 0; k < subtagCount; k++) {
+                    ranges.append('-')
+                        .append(subtags[random.nextInt(subtags.length)]);
+                }
+                ranges.append(";q=")
+                    .append(random.nextInt(11) / 10.0);
+            }
+
+            this.filterTagsAndCheck(ranges.toString());
+            this.lookupTagAndCheck(ranges.toString());
+        }
+    }
+
+    @Test
+    public void testFilterTagsEmptyRanges() {
+        this.checkEquals(
+            Lists.empty(),
+            LocaleMatcher.filterTags(Lists.empty(), TAGS, Locale.FilteringMode.AUTOSELECT_FILTERING)
+        );
+    }
+
+    @Test
+    public void testFilterTagsEmptyTags() {
+        this.checkEquals(
+            Lists.empty(),
+            LocaleMatcher.filterTags(Locale.LanguageRange.parse("en"), Lists.empty(), Locale.FilteringMode.AUTOSELECT_FILTERING)
+        );
+    }
+
+    /**
+     * Verifies every {@link Locale.FilteringMode} against the JDK.
+     */
+    private void filterTagsAndCheck(final String ranges) {
+        for (final Locale.FilteringMode mode : Locale.FilteringMode.values()) {
+            this.checkEquals(
+                filterTagsJdk(ranges, mode),
+                filterTags(ranges, mode),
+                () -> "filterTags " + ranges + " " + mode
+            );
+        }
+    }
+
+    private static String filterTags(final String ranges,
+                                     final Locale.FilteringMode mode) {
+        try {
+            return LocaleMatcher.filterTags(
+                Locale.LanguageRange.parse(ranges),
+                TAGS,
+                mode
+            ).toString();
+        } catch (final IllegalArgumentException expected) {
+            return "IllegalArgumentException";
+        }
+    }
+
+    private static String filterTagsJdk(final String ranges,
+                                        final Locale.FilteringMode mode) {
+        try {
+            return java.util.Locale.filterTags(
+                java.util.Locale.LanguageRange.parse(ranges),
+                TAGS,
+                java.util.Locale.FilteringMode.valueOf(mode.name())
+            ).toString();
+        } catch (final IllegalArgumentException expected) {
+            return "IllegalArgumentException";
+        }
+    }
+
+    // lookupTag........................................................................................................
+
+    @Test
+    public void testLookupTag() {
+        this.lookupTagAndCheck("en-au");
+    }
+
+    @Test
+    public void testLookupTagTruncated() {
+        this.lookupTagAndCheck("de-ch-1996-x-private");
+    }
+
+    @Test
+    public void testLookupTagTruncatedSingleton() {
+        this.lookupTagAndCheck("ja-jp-u-ca");
+    }
+
+    @Test
+    public void testLookupTagWildcardIgnored() {
+        this.lookupTagAndCheck("*,fr;q=0.5");
+    }
+
+    @Test
+    public void testLookupTagExtended() {
+        this.lookupTagAndCheck("zh-*-tw");
+    }
+
+    @Test
+    public void testLookupTagZeroWeight() {
+        this.lookupTagAndCheck("en-au,en;q=0");
+    }
+
+    @Test
+    public void testLookupTagNone() {
+        this.lookupTagAndCheck("ko");
+    }
+
+    private void lookupTagAndCheck(final String ranges) {
+        this.checkEquals(
+            java.util.Locale.lookupTag(
+                java.util.Locale.LanguageRange.parse(ranges),
+                TAGS
+            ),
+            LocaleMatcher.lookupTag(
+                Locale.LanguageRange.parse(ranges),
+                TAGS
+            ),
+            () -> "lookupTag " + ranges
+        );
+    }
+
+    @Test
+    public void testMatchesLookup() {
+        this.matchesLookupAndCheck("en-au", "en-au", true);
+    }
+
+    @Test
+    public void testMatchesLookupWildcard() {
+        this.matchesLookupAndCheck("zh-*-tw", "zh-hant-tw", true);
+    }
+
+    @Test
+    public void testMatchesLookupWildcardEmpty() {
+        this.matchesLookupAndCheck("zh-*-tw", "zh--tw", true);
+    }
+
+    @Test
+    public void testMatchesLookupWildcardNotSeparator() {
+        this.matchesLookupAndCheck("zh-*", "zh-hant-tw", false);
+    }
+
+    @Test
+    public void testMatchesLookupPrefix() {
+        this.matchesLookupAndCheck("en", "en-au", false);
+    }
+
+    private void matchesLookupAndCheck(final String range,
+                                       final String tag,
+                                       final boolean expected) {
+        this.checkEquals(
+            expected,
+            LocaleMatcher.matchesLookup(range, tag),
+            () -> "matchesLookup " + range + " " + tag
+        );
+    }
+
+    @Test
+    public void testTruncateRange() {
+        this.truncateRangeAndCheck("en-au", "en");
+    }
+
+    @Test
+    public void testTruncateRangeLanguage() {
+        this.truncateRangeAndCheck("en", "");
+    }
+
+    @Test
+    public void testTruncateRangeSingleton() {
+        this.truncateRangeAndCheck("de-ch-x-private", "de-ch");
+    }
+
+    @Test
+    public void testTruncateRangeWildcard() {
+        this.truncateRangeAndCheck("zh-*-tw", "zh-*");
+    }
+
+    private void truncateRangeAndCheck(final String range,
+                                       final String expected) {
+        this.checkEquals(
+            expected,
+            LocaleMatcher.truncateRange(range),
+            () -> "truncateRange " + range
+        );
+    }
+
+    // split............................................................................................................
+
+    @Test
+    public void testSplit() {
+        this.splitAndCheck("en-au");
+    }
+
+    @Test
+    public void testSplitEmpty() {
+        this.splitAndCheck("");
+    }
+
+    @Test
+    public void testSplitTrailingEmpty() {
+        this.splitAndCheck("en,,");
+    }
+
+    @Test
+    public void testSplitLeadingEmpty() {
+        this.splitAndCheck(",en");
+    }
+
+    @Test
+    public void testSplitOnlySeparators() {
+        this.splitAndCheck(",,");
+    }
+
+    private void splitAndCheck(final String text) {
+        this.checkEquals(
+            Arrays.stream(text.split(","))
+                .collect(Collectors.toList()),
+            Arrays.asList(LocaleMatcher.split(text, ',')),
+            () -> "split " + text
+        );
+    }
+
+    // parse............................................................................................................
+
+    @Test
+    public void testParse() {
+        this.parseAndCheck("en-au;q=0.5, de, fr;q=0.8");
+    }
+
+    @Test
+    public void testParseAcceptLanguage() {
+        this.parseAndCheck("Accept-Language: en-AU,en;q=0.9");
+    }
+
+    @Test
+    public void testParseDuplicate() {
+        this.parseAndCheck("en,en;q=0.5");
+    }
+
+    @Test
+    public void testParseLanguageEquivalents() {
+        this.parseAndCheck("he-il,in;q=0.5,yi;q=0.1");
+    }
+
+    @Test
+    public void testParseInvalidWeight() {
+        this.parseAndCheck("en;q=x");
+    }
+
+    @Test
+    public void testParseWeightTooLarge() {
+        this.parseAndCheck("en;q=1.1");
+    }
+
+    @Test
+    public void testParseEmpty() {
+        this.parseAndCheck("");
+    }
+
+    private void parseAndCheck(final String ranges) {
+        this.checkEquals(
+            parseJdk(ranges),
+            parse(ranges),
+            () -> "parse " + ranges
+        );
+    }
+
+    private static String parse(final String ranges) {
+        try {
+            return LocaleMatcher.parse(ranges).toString();
+        } catch (final IllegalArgumentException expected) {
+            return expected.getMessage();
+        }
+    }
+
+    private static String parseJdk(final String ranges) {
+        try {
+            return java.util.Locale.LanguageRange.parse(ranges).toString();
+        } catch (final IllegalArgumentException expected) {
+            return expected.getMessage();
+        }
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleMatcher> type() {
+        return LocaleMatcher.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
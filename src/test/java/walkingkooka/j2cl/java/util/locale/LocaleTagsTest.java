@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.j2cl.java.util.locale.Locale.FilteringMode;
+import walkingkooka.j2cl.java.util.locale.Locale.LanguageRange;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class LocaleTagsTest implements ClassTesting2<LocaleTags> {
+
+    @Test
+    public void testWithAvailableShared() {
+        assertSame(
+            LocaleTags.with(Locale.availableLocales()),
+            LocaleTags.with(Locale.availableLocales())
+        );
+    }
+
+    @Test
+    public void testWithCopyOfAvailableShared() {
+        assertSame(
+            LocaleTags.with(Locale.availableLocales()),
+            LocaleTags.with(new ArrayList<>(Locale.availableLocales()))
+        );
+    }
+
+    @Test
+    public void testWithAvailableOtherOrderNotShared() {
+        final List<Locale> reversed = new ArrayList<>(Locale.availableLocales());
+        Collections.reverse(reversed);
+
+        assertNotSame(
+            LocaleTags.with(Locale.availableLocales()),
+            LocaleTags.with(reversed)
+        );
+    }
+
+    @Test
+    public void testWithFewerNotShared() {
+        assertNotSame(
+            LocaleTags.with(Locale.availableLocales()),
+            LocaleTags.with(Locale.availableLocales().subList(0, 1))
+        );
+    }
+
+    @Test
+    public void testLookupAvailableSameAsCopy() {
+        final List<LanguageRange> ranges = LanguageRange.parse("de-CH,en;q=0.5");
+        final List<Locale> copy = new ArrayList<>(Locale.availableLocales());
+        copy.add(Locale.forLanguageTag("qaa"));
+
+        assertSame(
+            LocaleTags.with(copy)
+                .lookup(ranges),
+            LocaleTags.with(Locale.availableLocales())
+                .lookup(ranges)
+        );
+    }
+
+    @Test
+    public void testFilterAvailableSameAsCopy() {
+        final List<LanguageRange> ranges = LanguageRange.parse("en,de;q=0.5");
+        final List<Locale> copy = new ArrayList<>(Locale.availableLocales());
+        copy.add(Locale.forLanguageTag("qaa"));
+
+        this.checkEquals(
+            LocaleTags.with(copy)
+                .filter(ranges, FilteringMode.AUTOSELECT_FILTERING),
+            LocaleTags.with(Locale.availableLocales())
+                .filter(ranges, FilteringMode.AUTOSELECT_FILTERING)
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleTags> type() {
+        return LocaleTags.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -24,6 +24,10 @@ import walkingkooka.ToStringTesting;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.j2cl.java.util.locale.generated.LocaleProvider;
+import walkingkooka.j2cl.java.util.locale.support.CountingLocaleMetrics;
+import walkingkooka.j2cl.java.util.locale.support.LocaleMetrics;
+import walkingkooka.j2cl.java.util.locale.support.LocaleSupport;
+import walkingkooka.j2cl.java.util.locale.support.LruCache;
 import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
 import walkingkooka.javashader.ShadedClassTesting;
 import walkingkooka.predicate.Predicates;
@@ -117,6 +121,16 @@ public final class LocaleTest implements ShadedClassTesting<Locale>,
         }
     }
 
+    @Test
+    public void testAvailableLocalesCached() {
+        assertSame(Locale.availableLocales(), Locale.availableLocales());
+    }
+
+    @Test
+    public void testAvailableLocalesSameAsGetAvailableLocales() {
+        assertEquals(Arrays.asList(Locale.getAvailableLocales()), Locale.availableLocales());
+    }
+
 //    @Test
 //    public void testDefault() {
 //        Locale.defaultLocale = null;
@@ -279,6 +293,141 @@ public final class LocaleTest implements ShadedClassTesting<Locale>,
         this.forLanguageTagAndCheck("ar-001");
     }
 
+    @Test
+    public void testForLanguageTagCanonical() {
+        this.forLanguageTagSameAndCheck("en", "EN");
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalCountry() {
+        this.forLanguageTagSameAndCheck("en-AU", "EN-au");
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalScript() {
+        this.forLanguageTagSameAndCheck("zh-Hant", "ZH-HANT");
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalLanguageUnknown() {
+        this.forLanguageTagSameAndCheck("xyz", "XYZ");
+    }
+
+    @Test
+    public void testForLanguageTagCanonicalAvailable() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final String language = locale.getLanguage();
+            if (WalkingkookaLanguageTag.oldToNewLanguage(language).equalsIgnoreCase(language) && locale.getCountry().isEmpty()) {
+                assertSame(locale, Locale.forLanguageTag(locale.toLanguageTag()), () -> "forLanguageTag " + locale);
+            }
+        }
+    }
+
+    @Test
+    public void testForLanguageTagCommonShapeAndOtherCase() {
+        this.forLanguageTagSameAndCheck("en-AU", "EN-au");
+    }
+
+    @Test
+    public void testForLanguageTagCommonShapeUnderscore() {
+        this.forLanguageTagSameAndCheck("zh-Hant-TW", "zh_hant_tw");
+    }
+
+    @Test
+    public void testForLanguageTagCommonShapeRepeated() {
+        this.forLanguageTagSameAndCheck("zh-Hant-TW", "zh-Hant-TW");
+    }
+
+    @Test
+    public void testForLanguageTagCommonShapeAllAvailable() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final String tag = locale.toLanguageTag();
+            if (CommonLanguageTags.isCommon(tag)) {
+                final Locale first = Locale.forLanguageTag(tag);
+                assertSame(first, Locale.forLanguageTag(tag), () -> "forLanguageTag " + tag);
+                assertSame(first, Locale.forLanguageTag(tag.toUpperCase()), () -> "forLanguageTag " + tag.toUpperCase());
+            }
+        }
+    }
+
+    @Test
+    public void testForLanguageTagUnavailableInterned() {
+        this.forLanguageTagSameAndCheck("qaa-QM", "qaa-qm");
+    }
+
+    @Test
+    public void testForLanguageTagUnavailableFallbackInterned() {
+        this.forLanguageTagSameAndCheck("x1-QN", "x1-QN");
+    }
+
+    @Test
+    public void testForLanguageTagUnavailableInternedBounded() {
+        final LruCache<WalkingkookaLanguageTag, Locale> interned = Locale.interned();
+        final int evictionCount = interned.evictionCount();
+
+        for (int i = 0; i < interned.max() * 2; i++) {
+            Locale.forLanguageTag("qab-" + (1000 + i));
+        }
+
+        this.checkEquals(interned.max(), interned.size(), "size");
+        assertTrue(interned.evictionCount() >= evictionCount + interned.max(), () -> "evictionCount " + interned);
+    }
+
+    @Test
+    public void testForLanguageTagUnavailableInternedHitCount() {
+        final LruCache<WalkingkookaLanguageTag, Locale> interned = Locale.interned();
+        Locale.forLanguageTag("qac");
+
+        final int hitCount = interned.hitCount();
+        Locale.forLanguageTag("qac");
+
+        assertTrue(interned.hitCount() > hitCount, () -> "hitCount " + interned.hitCount() + " " + hitCount);
+    }
+
+    @Test
+    public void testForLanguageTagMetrics() {
+        final CountingLocaleMetrics metrics = CountingLocaleMetrics.run(
+            () -> Locale.forLanguageTag("qad-QM")
+        );
+
+        this.checkEquals(
+            1,
+            metrics.count(LocaleMetrics.Counter.FOR_LANGUAGE_TAG_COUNTRY),
+            "FOR_LANGUAGE_TAG_COUNTRY"
+        );
+        this.checkEquals(
+            1,
+            metrics.count(LocaleMetrics.Counter.FOR_LANGUAGE_TAG_COUNTRY_AS_LANGUAGE),
+            "FOR_LANGUAGE_TAG_COUNTRY_AS_LANGUAGE"
+        );
+    }
+
+    @Test
+    public void testForLanguageTagInternedMetrics() {
+        final CountingLocaleMetrics metrics = CountingLocaleMetrics.run(
+            () -> {
+                Locale.forLanguageTag("qae");
+                Locale.forLanguageTag("qae");
+            }
+        );
+
+        this.checkEquals(
+            1,
+            metrics.count(LocaleMetrics.Counter.INTERNED_MISS),
+            "INTERNED_MISS"
+        );
+        this.checkEquals(
+            1,
+            metrics.count(LocaleMetrics.Counter.INTERNED_HIT),
+            "INTERNED_HIT"
+        );
+    }
+
+    private void forLanguageTagSameAndCheck(final String tag,
+                                            final String tag2) {
+        assertSame(Locale.forLanguageTag(tag), Locale.forLanguageTag(tag2), () -> "forLanguageTag " + tag + " " + tag2);
+    }
+
     private void forLanguageTagAndCheck(final String tag) {
         this.forLanguageTagAndCheck(tag, tag);
     }
@@ -366,6 +515,80 @@ public final class LocaleTest implements ShadedClassTesting<Locale>,
         this.checkEquals(new Locale("EN"), new Locale("en"));
     }
 
+    @Test
+    public void testEqualsNewAndConstructed() {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        this.checkEquals(locale, new Locale(locale.getLanguage(), locale.getCountry()));
+    }
+
+    @Test
+    public void testHashCodeMatchesTag() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            this.checkEquals(locale.tag.hashCode(), locale.hashCode(), () -> "hashCode " + locale);
+        }
+    }
+
+    @Test
+    public void testComponentsMatchTag() {
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final WalkingkookaLanguageTag tag = locale.tag;
+
+            this.checkEquals(WalkingkookaLanguageTag.newToOldLanguage(tag.language()), locale.getLanguage(), () -> "language " + locale);
+            this.checkEquals(tag.country(), locale.getCountry(), () -> "country " + locale);
+            this.checkEquals(tag.script(), locale.getScript(), () -> "script " + locale);
+            this.checkEquals(tag.variant(), locale.getVariant(), () -> "variant " + locale);
+        }
+    }
+
+    // filter & lookup..................................................................................................
+
+    @Test
+    public void testFilterAvailableLocales() {
+        final List<Locale> available = Locale.availableLocales();
+        final List<Locale> filtered = Locale.filter(
+            Locale.LanguageRange.parse("en-AU,de;q=0.5"),
+            available
+        );
+
+        this.checkEquals(
+            java.util.Locale.filterTags(
+                java.util.Locale.LanguageRange.parse("en-AU,de;q=0.5"),
+                available.stream()
+                    .map(Locale::toLanguageTag)
+                    .collect(Collectors.toList())
+            ),
+            filtered.stream()
+                .map(Locale::toLanguageTag)
+                .collect(Collectors.toList())
+        );
+
+        for (final Locale locale : filtered) {
+            assertSame(available.get(available.indexOf(locale)), locale, () -> "filter " + locale);
+        }
+    }
+
+    @Test
+    public void testLookupAvailableLocales() {
+        assertSame(
+            Locale.forLanguageTag("en-AU"),
+            Locale.lookup(
+                Locale.LanguageRange.parse("en-AU-x-private,fr;q=0.5"),
+                Locale.availableLocales()
+            )
+        );
+    }
+
+    @Test
+    public void testLookupNone() {
+        this.checkEquals(
+            null,
+            Locale.lookup(
+                Locale.LanguageRange.parse("xx"),
+                Locale.availableLocales()
+            )
+        );
+    }
+
     // toString.........................................................................................................
 
     @Test
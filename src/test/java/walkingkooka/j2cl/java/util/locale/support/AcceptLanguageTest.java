@@ -0,0 +1,276 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CharSequences;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class AcceptLanguageTest implements ClassTesting2<AcceptLanguage> {
+
+    // parse............................................................................................................
+
+    @Test
+    public void testParseNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> AcceptLanguage.parse(null)
+        );
+    }
+
+    @Test
+    public void testParseEmpty() {
+        this.parseAndCheck("", "[]");
+    }
+
+    @Test
+    public void testParseRange() {
+        this.parseAndCheck("en-AU", "[en-au]");
+    }
+
+    @Test
+    public void testParseSeveral() {
+        this.parseAndCheck(
+            "fr-CH, fr;q=0.9, en;q=0.8, de;q=0.7, *;q=0.5",
+            "[fr-ch, fr;q=0.9, en;q=0.8, de;q=0.7, *;q=0.5]"
+        );
+    }
+
+    @Test
+    public void testParseSortedByWeight() {
+        this.parseAndCheck(
+            "de;q=0.5,en-AU,fr;q=0.8,en",
+            "[en-au, en, fr;q=0.8, de;q=0.5]"
+        );
+    }
+
+    @Test
+    public void testParseZeroWeight() {
+        this.parseAndCheck("de;q=0.000,en", "[en, de;q=0.0]");
+    }
+
+    @Test
+    public void testParseMaxWeight() {
+        this.parseAndCheck("en;q=1.000", "[en]");
+    }
+
+    @Test
+    public void testParseDuplicate() {
+        this.parseAndCheck("EN-au, en-AU;q=0.1", "[en-au]");
+    }
+
+    @Test
+    public void testParseWhitespace() {
+        this.parseAndCheck(" , ,en ;  q=0.5 ,", "[en;q=0.5]");
+    }
+
+    @Test
+    public void testParseOtherParameter() {
+        this.parseAndCheck("en;level=1;q=0.5", "[en;q=0.5]");
+    }
+
+    @Test
+    public void testParseExtendedRange() {
+        this.parseAndCheck("zh-*-tw", "[zh-*-tw]");
+    }
+
+    @Test
+    public void testParseSkipsWeightTooLarge() {
+        this.parseAndCheck("en;q=1.001,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSkipsWeightTooPrecise() {
+        this.parseAndCheck("en;q=0.1234,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSkipsWeightWithoutLeadingDigit() {
+        this.parseAndCheck("en;q=.5,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSkipsWeightInvalid() {
+        this.parseAndCheck("en;q=0.5x,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSkipsTrailingSeparator() {
+        this.parseAndCheck("en-,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSkipsEmptySubtag() {
+        this.parseAndCheck("en--au,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSkipsInvalidCharacters() {
+        this.parseAndCheck("!!,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSkipsDigitLanguage() {
+        this.parseAndCheck("e1,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSkipsGarbage() {
+        this.parseAndCheck("en-AU garbage,fr", "[fr]");
+    }
+
+    @Test
+    public void testParseSameAsLanguageRangeParse() {
+        final String header = "en-AU,en;q=0.9, fr-CA;q=0.8,de;q=0.5, *;q=0.1";
+
+        this.checkEquals(
+            Locale.LanguageRange.parse(header),
+            AcceptLanguage.parse(header)
+        );
+    }
+
+    private void parseAndCheck(final String header,
+                               final String expected) {
+        this.checkEquals(
+            expected,
+            AcceptLanguage.parse(header).toString(),
+            () -> "parse " + CharSequences.quoteAndEscape(header)
+        );
+    }
+
+    // weight...........................................................................................................
+
+    @Test
+    public void testWeight() {
+        this.weightAndCheck("0.5", 500);
+    }
+
+    @Test
+    public void testWeightZero() {
+        this.weightAndCheck("0", 0);
+    }
+
+    @Test
+    public void testWeightOne() {
+        this.weightAndCheck("1", 1000);
+    }
+
+    @Test
+    public void testWeightThreeDigits() {
+        this.weightAndCheck("0.123", 123);
+    }
+
+    @Test
+    public void testWeightOneWithZeros() {
+        this.weightAndCheck("1.00", 1000);
+    }
+
+    @Test
+    public void testWeightEmptyInvalid() {
+        this.weightAndCheck("", -1);
+    }
+
+    @Test
+    public void testWeightTwoInvalid() {
+        this.weightAndCheck("2", -1);
+    }
+
+    @Test
+    public void testWeightOneFractionInvalid() {
+        this.weightAndCheck("1.5", -1);
+    }
+
+    private void weightAndCheck(final String text,
+                                final int expected) {
+        this.checkEquals(
+            expected,
+            AcceptLanguage.weight(text, 0, text.length()),
+            () -> "weight " + CharSequences.quoteAndEscape(text)
+        );
+    }
+
+    // bestMatch........................................................................................................
+
+    @Test
+    public void testBestMatch() {
+        this.bestMatchAndCheck(
+            "en-AU,en;q=0.9",
+            Locale.forLanguageTag("en-AU")
+        );
+    }
+
+    @Test
+    public void testBestMatchTruncated() {
+        this.bestMatchAndCheck(
+            "zz, de-CH-1996;q=0.5",
+            Locale.forLanguageTag("de-CH")
+        );
+    }
+
+    @Test
+    public void testBestMatchNone() {
+        this.bestMatchAndCheck(
+            "zz",
+            null
+        );
+    }
+
+    @Test
+    public void testBestMatchEmpty() {
+        this.bestMatchAndCheck(
+            "",
+            null
+        );
+    }
+
+    @Test
+    public void testBestMatchCached() {
+        final String header = "fr-CA,fr;q=0.9";
+        assertSame(
+            AcceptLanguage.bestMatch(header),
+            AcceptLanguage.bestMatch(header)
+        );
+    }
+
+    private void bestMatchAndCheck(final String header,
+                                   final Locale expected) {
+        this.checkEquals(
+            Optional.ofNullable(expected),
+            AcceptLanguage.bestMatch(header),
+            () -> "bestMatch " + CharSequences.quoteAndEscape(header)
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<AcceptLanguage> type() {
+        return AcceptLanguage.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
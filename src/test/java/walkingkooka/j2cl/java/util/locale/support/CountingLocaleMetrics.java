@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import walkingkooka.collect.map.Maps;
+
+import java.util.Map;
+
+/**
+ * A {@link LocaleMetrics} for tests that counts every {@link LocaleMetrics.Counter} and ignores timings.
+ */
+public final class CountingLocaleMetrics implements LocaleMetrics {
+
+    /**
+     * Installs a new {@link CountingLocaleMetrics} while the given action runs, always restoring the previous
+     * {@link LocaleMetrics} afterwards.
+     */
+    public static CountingLocaleMetrics run(final Runnable action) {
+        final CountingLocaleMetrics metrics = new CountingLocaleMetrics();
+
+        final LocaleMetrics previous = LocaleSupport.metrics();
+        LocaleSupport.setMetrics(metrics);
+        try {
+            action.run();
+        } finally {
+            LocaleSupport.setMetrics(previous);
+        }
+
+        return metrics;
+    }
+
+    private CountingLocaleMetrics() {
+        super();
+    }
+
+    /**
+     * Returns the number of times the given {@link LocaleMetrics.Counter} was incremented.
+     */
+    public int count(final Counter counter) {
+        synchronized (this.counts) {
+            return this.counts.getOrDefault(counter, 0);
+        }
+    }
+
+    @Override
+    public void increment(final Counter counter) {
+        synchronized (this.counts) {
+            this.counts.merge(counter, 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public long start() {
+        return 0;
+    }
+
+    @Override
+    public void time(final Timer timer,
+                     final long start) {
+    }
+
+    private final Map<Counter, Integer> counts = Maps.sorted();
+
+    @Override
+    public String toString() {
+        synchronized (this.counts) {
+            return this.counts.toString();
+        }
+    }
+}
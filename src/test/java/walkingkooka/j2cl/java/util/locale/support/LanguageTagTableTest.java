@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+import walkingkooka.j2cl.java.util.locale.generated.LocaleProvider;
+import walkingkooka.j2cl.locale.WalkingkookaLanguageTag;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class LanguageTagTableTest implements ClassTesting2<LanguageTagTable> {
+
+    @Test
+    public void testReadOriginal() throws IOException {
+        final List<WalkingkookaLanguageTag> tags = WalkingkookaLanguageTag.decode(
+            StringDataInputDataOutput.input(LocaleProvider.DATA)
+        );
+
+        this.checkEquals(
+            tags,
+            tags(LanguageTagTable.read(LocaleProvider.DATA))
+        );
+    }
+
+    @Test
+    public void testReadOriginalSharesSubtags() throws IOException {
+        this.sharedSubtagsAndCheck(
+            LanguageTagTable.read(LocaleProvider.DATA)
+        );
+    }
+
+    @Test
+    public void testReadCompactSharesSubtags() throws IOException {
+        final StringBuilder data = new StringBuilder();
+        LanguageTagTable.encode(
+            tags(LanguageTagTable.read(LocaleProvider.DATA)),
+            StringDataInputDataOutput.output(data::append)
+        );
+
+        this.sharedSubtagsAndCheck(
+            LanguageTagTable.read(data.toString())
+        );
+    }
+
+    /**
+     * Counts the distinct subtag values and the distinct subtag instances, which will be equal when every equal subtag
+     * is shared.
+     */
+    private void sharedSubtagsAndCheck(final LanguageTagTable table) {
+        final Set<String> values = Sets.hash();
+        final Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (final WalkingkookaLanguageTag tag : tags(table)) {
+            for (final String subtag : Lists.of(tag.language(), tag.country(), tag.script(), tag.variant())) {
+                values.add(subtag);
+                instances.add(subtag);
+            }
+        }
+
+        this.checkEquals(
+            values.size(),
+            instances.size(),
+            () -> "distinct subtag instances for " + table
+        );
+    }
+
+    @Test
+    public void testEncodeRead() throws IOException {
+        this.encodeReadAndCheck(
+            Lists.of(
+                WalkingkookaLanguageTag.parse("en"),
+                WalkingkookaLanguageTag.parse("en-AU"),
+                WalkingkookaLanguageTag.parse("zh-Hant-TW"),
+                WalkingkookaLanguageTag.parse("ca-ES-VALENCIA")
+            )
+        );
+    }
+
+    @Test
+    public void testEncodeReadAllProvided() throws IOException {
+        this.encodeReadAndCheck(
+            tags(LanguageTagTable.read(LocaleProvider.DATA))
+        );
+    }
+
+    private void encodeReadAndCheck(final List<WalkingkookaLanguageTag> tags) throws IOException {
+        final StringBuilder data = new StringBuilder();
+        LanguageTagTable.encode(
+            tags,
+            StringDataInputDataOutput.output(data::append)
+        );
+
+        this.checkEquals(
+            tags.stream()
+                .map(WalkingkookaLanguageTag::toLanguageTag)
+                .collect(Collectors.toList()),
+            tags(LanguageTagTable.read(data.toString()))
+                .stream()
+                .map(WalkingkookaLanguageTag::toLanguageTag)
+                .collect(Collectors.toList())
+        );
+    }
+
+    private static List<WalkingkookaLanguageTag> tags(final LanguageTagTable table) {
+        final List<WalkingkookaLanguageTag> tags = Lists.array();
+        for (int i = 0; i < table.size(); i++) {
+            tags.add(table.tag(i));
+        }
+        return tags;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LanguageTagTable> type() {
+        return LanguageTagTable.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LikelySubtagsTest implements ClassTesting2<LikelySubtags> {
+
+    // decode...........................................................................................................
+
+    @Test
+    public void testDecodeEmpty() {
+        this.decodeAndCheck(
+            ";",
+            Maps.empty()
+        );
+    }
+
+    @Test
+    public void testDecodeMissingDictionaryEndFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> LikelySubtags.decode(",en")
+        );
+    }
+
+    @Test
+    public void testDecodeIncompleteEntryFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> LikelySubtags.decode(",en;10")
+        );
+    }
+
+    @Test
+    public void testDecodeInvalidReferenceFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> LikelySubtags.decode(",en;1009")
+        );
+    }
+
+    @Test
+    public void testEncodeDecode() {
+        final Map<String, String> table = Maps.sorted();
+        table.put("en", "Latn-US");
+        table.put("zh-TW", "Hant-TW");
+        table.put("zh-Hant", "Hant-TW");
+
+        this.decodeAndCheck(
+            LikelySubtags.encode(table),
+            table
+        );
+    }
+
+    @Test
+    public void testEncode() {
+        final Map<String, String> table = Maps.sorted();
+        table.put("en", "Latn-US");
+
+        this.checkEquals(
+            ",Latn,US,en;3012",
+            LikelySubtags.encode(table)
+        );
+    }
+
+    @Test
+    public void testDataEncoded() {
+        this.checkEquals(
+            LikelySubtags.DATA,
+            LikelySubtags.encode(LikelySubtags.decode(LikelySubtags.DATA)),
+            "DATA is not in the form written by encode"
+        );
+    }
+
+    @Test
+    public void testDecodeData() {
+        final Map<String, String> table = LikelySubtags.decode(LikelySubtags.DATA);
+
+        for (final Map.Entry<String, String> keyAndLikely : table.entrySet()) {
+            final String key = keyAndLikely.getKey();
+            final String likely = keyAndLikely.getValue();
+
+            this.checkEquals(
+                true,
+                LocaleSupport.tryForLanguageTag(key + "-" + likely).isPresent(),
+                () -> key + "=" + likely
+            );
+        }
+    }
+
+    private void decodeAndCheck(final String data,
+                                final Map<String, String> expected) {
+        this.checkEquals(
+            expected,
+            new TreeMap<>(LikelySubtags.decode(data))
+        );
+    }
+
+    // add..............................................................................................................
+
+    @Test
+    public void testAddLanguage() {
+        this.addAndCheck("en", "en-Latn-US");
+    }
+
+    @Test
+    public void testAddLanguageRegion() {
+        this.addAndCheck("en-AU", "en-Latn-AU");
+    }
+
+    @Test
+    public void testAddLanguageRegionException() {
+        this.addAndCheck("zh-TW", "zh-Hant-TW");
+    }
+
+    @Test
+    public void testAddLanguageScriptException() {
+        this.addAndCheck("zh-Hant", "zh-Hant-TW");
+    }
+
+    @Test
+    public void testAddLanguageScript() {
+        this.addAndCheck("uz-Cyrl", "uz-Cyrl-UZ");
+    }
+
+    @Test
+    public void testAddVariant() {
+        this.addAndCheck("de-CH-1996", "de-Latn-CH-1996");
+    }
+
+    @Test
+    public void testAddLanguageScriptNotAvailable() {
+        this.addAndCheck("mn-CN", "mn-Mong-CN");
+    }
+
+    @Test
+    public void testAddMultipleScripts() {
+        this.addAndCheck("sr", "sr-Cyrl-RS");
+    }
+
+    @Test
+    public void testAddOldLanguage() {
+        this.addAndCheck("iw-IL", "he-Hebr-IL");
+    }
+
+    @Test
+    public void testAddUnknownLanguage() {
+        this.addSameAndCheck("xyz");
+    }
+
+    @Test
+    public void testAddRoot() {
+        this.addSameAndCheck(Locale.ROOT);
+    }
+
+    @Test
+    public void testAddAlreadyMaximized() {
+        this.addSameAndCheck("sr-Latn-BA");
+    }
+
+    @Test
+    public void testAddLegacyVariant() {
+        this.addSameAndCheck(
+            new Locale("no", "NO", "NY")
+        );
+    }
+
+    private void addAndCheck(final String locale,
+                             final String expected) {
+        this.checkEquals(
+            Locale.forLanguageTag(expected),
+            LikelySubtags.add(Locale.forLanguageTag(locale)),
+            () -> "add " + locale
+        );
+    }
+
+    private void addSameAndCheck(final String locale) {
+        this.addSameAndCheck(Locale.forLanguageTag(locale));
+    }
+
+    private void addSameAndCheck(final Locale locale) {
+        assertSame(
+            locale,
+            LikelySubtags.add(locale),
+            () -> "add " + locale
+        );
+    }
+
+    // minimize.........................................................................................................
+
+    @Test
+    public void testMinimizeLanguage() {
+        this.minimizeAndCheck("en-Latn-US", "en");
+    }
+
+    @Test
+    public void testMinimizeLanguageRegion() {
+        this.minimizeAndCheck("en-Latn-AU", "en-AU");
+    }
+
+    @Test
+    public void testMinimizeRegionPreferredToScript() {
+        this.minimizeAndCheck("zh-Hant-TW", "zh-TW");
+    }
+
+    @Test
+    public void testMinimizeScript() {
+        this.minimizeAndCheck("sr-Latn-RS", "sr-Latn");
+    }
+
+    @Test
+    public void testMinimizeNotMinimizable() {
+        this.minimizeAndCheck("sr-Latn-BA", "sr-Latn-BA");
+    }
+
+    @Test
+    public void testMinimizeVariant() {
+        this.minimizeAndCheck("de-Latn-CH-1996", "de-CH-1996");
+    }
+
+    @Test
+    public void testMinimizeUnknownLanguage() {
+        final Locale locale = Locale.forLanguageTag("xyz-QQ");
+        assertSame(
+            locale,
+            LikelySubtags.minimize(locale)
+        );
+    }
+
+    @Test
+    public void testMinimizeAddRoundtripAllAvailable() {
+        for (final Locale locale : LocaleSupport.availableLocales()) {
+            final Locale max = LikelySubtags.add(locale);
+            final Locale min = LikelySubtags.minimize(locale);
+
+            this.checkEquals(
+                max,
+                LikelySubtags.add(min),
+                () -> "add " + min + " of " + locale
+            );
+            this.checkEquals(
+                min,
+                LikelySubtags.minimize(max),
+                () -> "minimize " + max + " of " + locale
+            );
+        }
+    }
+
+    private void minimizeAndCheck(final String locale,
+                                  final String expected) {
+        this.checkEquals(
+            Locale.forLanguageTag(expected),
+            LikelySubtags.minimize(Locale.forLanguageTag(locale)),
+            () -> "minimize " + locale
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LikelySubtags> type() {
+        return LikelySubtags.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleMapTest implements ClassTesting2<LocaleMap<String>> {
+
+    private final static Locale EN_AU = Locale.forLanguageTag("en-AU");
+
+    private final static Locale EN_NZ = Locale.forLanguageTag("en-NZ");
+
+    private final static Locale UNAVAILABLE = new Locale("xyz");
+
+    @Test
+    public void testPutNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LocaleMap.create().put(null, "value")
+        );
+    }
+
+    @Test
+    public void testCreateEmpty() {
+        final LocaleMap<String> map = LocaleMap.create();
+        this.checkEquals(0, map.size(), "size");
+        this.checkEquals(Maps.empty(), map);
+    }
+
+    @Test
+    public void testPutGet() {
+        final LocaleMap<String> map = LocaleMap.create();
+        this.checkEquals(null, map.put(EN_AU, "1"), "put");
+        this.checkEquals("1", map.put(EN_AU, "2"), "put replace");
+
+        this.checkEquals("2", map.get(EN_AU), "get");
+        this.checkEquals(null, map.get(EN_NZ), "get absent");
+        this.checkEquals(1, map.size(), "size");
+    }
+
+    @Test
+    public void testPutGetUnavailable() {
+        final LocaleMap<String> map = LocaleMap.create();
+        map.put(UNAVAILABLE, "1");
+
+        this.checkEquals("1", map.get(UNAVAILABLE), "get");
+        this.checkEquals(true, map.containsKey(UNAVAILABLE), "containsKey");
+        this.checkEquals(1, map.size(), "size");
+    }
+
+    @Test
+    public void testPutNullValue() {
+        final LocaleMap<String> map = LocaleMap.create();
+        map.put(EN_AU, null);
+
+        this.checkEquals(null, map.get(EN_AU), "get");
+        this.checkEquals(true, map.containsKey(EN_AU), "containsKey");
+        this.checkEquals(false, map.containsKey(EN_NZ), "containsKey");
+        this.checkEquals(1, map.size(), "size");
+    }
+
+    @Test
+    public void testGetNonLocale() {
+        final LocaleMap<String> map = LocaleMap.create();
+        map.put(EN_AU, "1");
+
+        this.checkEquals(null, map.get("en-AU"));
+    }
+
+    @Test
+    public void testRemove() {
+        final LocaleMap<String> map = LocaleMap.with(Maps.of(EN_AU, "1", EN_NZ, "2"));
+        map.put(UNAVAILABLE, "3");
+
+        this.checkEquals("1", map.remove(EN_AU), "remove");
+        this.checkEquals(null, map.remove(EN_AU), "remove again");
+        this.checkEquals("3", map.remove(UNAVAILABLE), "remove unavailable");
+
+        this.checkEquals(Maps.of(EN_NZ, "2"), map);
+    }
+
+    @Test
+    public void testClear() {
+        final LocaleMap<String> map = LocaleMap.with(Maps.of(EN_AU, "1", UNAVAILABLE, "2"));
+        map.clear();
+
+        this.checkEquals(Maps.empty(), map);
+    }
+
+    @Test
+    public void testEntrySetOrdinalOrderThenUnavailable() {
+        final List<Locale> available = LocaleSupport.availableLocales();
+        final Locale first = available.get(0);
+        final Locale last = available.get(available.size() - 1);
+
+        final LocaleMap<String> map = LocaleMap.create();
+        map.put(UNAVAILABLE, "3");
+        map.put(last, "2");
+        map.put(first, "1");
+
+        this.checkEquals(
+            Lists.of(first, last, UNAVAILABLE),
+            Lists.of(map.keySet().toArray())
+        );
+        this.checkEquals(
+            Lists.of("1", "2", "3"),
+            Lists.of(map.values().toArray())
+        );
+    }
+
+    @Test
+    public void testEntrySetValueAndRemove() {
+        final LocaleMap<String> map = LocaleMap.with(Maps.of(EN_AU, "1", EN_NZ, "2", UNAVAILABLE, "3"));
+
+        final Iterator<Map.Entry<Locale, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Locale, String> entry = iterator.next();
+            if (entry.getKey().equals(EN_NZ)) {
+                entry.setValue("22");
+            } else {
+                iterator.remove();
+            }
+        }
+
+        this.checkEquals(Maps.of(EN_NZ, "22"), map);
+    }
+
+    @Test
+    public void testEqualsHashMap() {
+        final Map<Locale, String> hashMap = Maps.of(EN_AU, "1", EN_NZ, "2", UNAVAILABLE, "3");
+        final LocaleMap<String> map = LocaleMap.with(hashMap);
+
+        this.checkEquals(hashMap, map);
+        this.checkEquals(hashMap.hashCode(), map.hashCode(), "hashCode");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleMap<String>> type() {
+        return Cast.to(LocaleMap.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class LocaleMemoTest implements ClassTesting2<LocaleMemo<?>> {
+
+    @Test
+    public void testGetAvailableComputedOnce() {
+        this.getComputedOnceAndCheck(Locale.forLanguageTag("en-AU"));
+    }
+
+    @Test
+    public void testGetUnavailableComputedOnce() {
+        this.getComputedOnceAndCheck(Locale.forLanguageTag("xyz-QQ"));
+    }
+
+    private void getComputedOnceAndCheck(final Locale locale) {
+        final AtomicInteger count = new AtomicInteger();
+        final LocaleMemo<String> memo = LocaleMemo.with(
+            l -> {
+                count.incrementAndGet();
+                return l.toLanguageTag();
+            },
+            2
+        );
+
+        final String value = memo.get(locale);
+        this.checkEquals(locale.toLanguageTag(), value);
+        assertSame(value, memo.get(locale));
+        this.checkEquals(1, count.get(), "computed");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleMemo<?>> type() {
+        return Cast.to(LocaleMemo.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleNegotiatorTest implements ClassTesting2<LocaleNegotiator>,
+    ToStringTesting<LocaleNegotiator> {
+
+    private final static String SUPPORTED = "en-US,en-GB,fr,de-DE,zh-Hans-CN,zh-Hant-TW,he-IL,sr-Latn-RS";
+
+    @Test
+    public void testWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LocaleNegotiator.with(null)
+        );
+    }
+
+    @Test
+    public void testNegotiateNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createNegotiator().negotiate(null)
+        );
+    }
+
+    @Test
+    public void testNegotiateAcceptLanguageNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createNegotiator().negotiateAcceptLanguage(null)
+        );
+    }
+
+    @Test
+    public void testNegotiateEmpty() {
+        this.negotiateAndCheck(
+            "",
+            null
+        );
+    }
+
+    @Test
+    public void testNegotiateExact() {
+        this.negotiateAndCheck(
+            "en-GB",
+            "en-GB"
+        );
+    }
+
+    @Test
+    public void testNegotiateLikelySubtags() {
+        this.negotiateAndCheck(
+            "zh-Hant-TW",
+            "zh-Hant-TW"
+        );
+    }
+
+    @Test
+    public void testNegotiateRegionDistance() {
+        this.negotiateAndCheck(
+            "de-AT",
+            "de-DE"
+        );
+    }
+
+    @Test
+    public void testNegotiateRegionDistanceBeforeLaterPreference() {
+        this.negotiateAndCheck(
+            "en-AU,fr;q=0.9",
+            "en-US"
+        );
+    }
+
+    @Test
+    public void testNegotiateRegionGivesScript() {
+        this.negotiateAndCheck(
+            "zh-HK",
+            "zh-Hant-TW"
+        );
+    }
+
+    @Test
+    public void testNegotiateLanguageGivesScript() {
+        this.negotiateAndCheck(
+            "zh",
+            "zh-Hans-CN"
+        );
+    }
+
+    @Test
+    public void testNegotiateScriptMismatch() {
+        this.negotiateAndCheck(
+            "sr",
+            null
+        );
+    }
+
+    @Test
+    public void testNegotiateOldLanguage() {
+        this.negotiateAndCheck(
+            "iw",
+            "he-IL"
+        );
+    }
+
+    @Test
+    public void testNegotiateVariantDistance() {
+        this.negotiateAndCheck(
+            "en-GB-oxendict",
+            "en-GB"
+        );
+    }
+
+    @Test
+    public void testNegotiateSkipsUnsupported() {
+        this.negotiateAndCheck(
+            "xx,de",
+            "de-DE"
+        );
+    }
+
+    @Test
+    public void testNegotiateSkipsZeroWeight() {
+        this.negotiateAndCheck(
+            "en;q=0,fr",
+            "fr"
+        );
+    }
+
+    @Test
+    public void testNegotiateSkipsWildcard() {
+        this.negotiateAndCheck(
+            "*",
+            null
+        );
+    }
+
+    @Test
+    public void testNegotiateTieFirstSupported() {
+        this.checkEquals(
+            Optional.of(Locale.forLanguageTag("en-GB")),
+            LocaleNegotiator.with(
+                locales("en-GB,en-US")
+            ).negotiateAcceptLanguage("en-AU")
+        );
+    }
+
+    @Test
+    public void testNegotiateNorway() {
+        final Locale nnNo = Locale.forLanguageTag("nn-NO");
+        final Optional<Locale> alternative = LocaleSupport.alternatives(nnNo, LocaleSupport.INCLUDE_NORWAY);
+
+        this.checkEquals(
+            alternative,
+            LocaleNegotiator.with(
+                Lists.of(alternative.get())
+            ).negotiate(
+                Lists.of(nnNo)
+            )
+        );
+    }
+
+    @Test
+    public void testNegotiateMemoised() {
+        final LocaleNegotiator negotiator = this.createNegotiator();
+        final List<Locale> preferences = locales("de-AT");
+
+        assertSame(
+            negotiator.negotiate(preferences),
+            negotiator.negotiate(new ArrayList<>(preferences))
+        );
+    }
+
+    @Test
+    public void testNegotiateCopiesPreferences() {
+        final LocaleNegotiator negotiator = this.createNegotiator();
+        final List<Locale> preferences = new ArrayList<>();
+        preferences.add(Locale.forLanguageTag("fr"));
+
+        final Optional<Locale> fr = negotiator.negotiate(preferences);
+        preferences.set(0, Locale.forLanguageTag("de"));
+
+        this.checkEquals(
+            Optional.of(Locale.forLanguageTag("de-DE")),
+            negotiator.negotiate(preferences)
+        );
+        this.checkEquals(
+            Optional.of(Locale.forLanguageTag("fr")),
+            fr
+        );
+    }
+
+    @Test
+    public void testNegotiateAcceptLanguageMemoised() {
+        final LocaleNegotiator negotiator = this.createNegotiator();
+
+        assertSame(
+            negotiator.negotiateAcceptLanguage("zh-TW"),
+            negotiator.negotiateAcceptLanguage("zh-TW")
+        );
+    }
+
+    @Test
+    public void testNegotiateAlternativeNotSupported() {
+        this.negotiateAndCheck("nn-NO,fr;q=0.5", "fr");
+    }
+
+    @Test
+    public void testNegotiateOldLanguageAlternativeNotSupported() {
+        this.negotiateAndCheck("in-ID,fr;q=0.5", "fr");
+    }
+
+    private void negotiateAndCheck(final String header,
+                                   final String expected) {
+        final Optional<Locale> expectedLocale = Optional.ofNullable(expected)
+            .map(Locale::forLanguageTag);
+        final LocaleNegotiator negotiator = this.createNegotiator();
+
+        this.checkEquals(
+            expectedLocale,
+            negotiator.negotiateAcceptLanguage(header),
+            () -> "negotiateAcceptLanguage " + header
+        );
+        this.checkEquals(
+            expectedLocale,
+            negotiator.negotiate(LocaleNegotiator.preferences(header)),
+            () -> "negotiate " + header
+        );
+    }
+
+    // preferences......................................................................................................
+
+    @Test
+    public void testPreferences() {
+        this.checkEquals(
+            locales("en-AU,fr"),
+            LocaleNegotiator.preferences("fr;q=0.5,*;q=0.6,en-AU,de;q=0")
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            LocaleNegotiator.with(locales("en-AU,fr")),
+            "[en_AU, fr]"
+        );
+    }
+
+    private LocaleNegotiator createNegotiator() {
+        return LocaleNegotiator.with(locales(SUPPORTED));
+    }
+
+    private static List<Locale> locales(final String tags) {
+        return Arrays.stream(tags.split(","))
+            .map(Locale::forLanguageTag)
+            .collect(Collectors.toList());
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleNegotiator> type() {
+        return LocaleNegotiator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
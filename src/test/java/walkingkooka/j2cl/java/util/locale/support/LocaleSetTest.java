@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LocaleSetTest implements ClassTesting2<LocaleSet> {
+
+    private final static Locale EN_AU = Locale.forLanguageTag("en-AU");
+
+    private final static Locale EN_NZ = Locale.forLanguageTag("en-NZ");
+
+    private final static Locale FR = Locale.forLanguageTag("fr");
+
+    private final static Locale UNAVAILABLE = new Locale("xyz");
+
+    @Test
+    public void testAddNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LocaleSet.create().add(null)
+        );
+    }
+
+    @Test
+    public void testCreateEmpty() {
+        final LocaleSet set = LocaleSet.create();
+        this.checkEquals(0, set.size(), "size");
+        this.checkEquals(true, set.isEmpty(), "isEmpty");
+    }
+
+    @Test
+    public void testAddContains() {
+        final LocaleSet set = LocaleSet.create();
+        this.checkEquals(true, set.add(EN_AU), "add");
+        this.checkEquals(false, set.add(EN_AU), "add again");
+
+        this.checkEquals(true, set.contains(EN_AU), "contains");
+        this.checkEquals(false, set.contains(EN_NZ), "contains");
+        this.checkEquals(1, set.size(), "size");
+    }
+
+    @Test
+    public void testAddUnavailable() {
+        final LocaleSet set = LocaleSet.create();
+        this.checkEquals(true, set.add(UNAVAILABLE), "add");
+        this.checkEquals(false, set.add(UNAVAILABLE), "add again");
+
+        this.checkEquals(true, set.contains(UNAVAILABLE), "contains");
+        this.checkEquals(1, set.size(), "size");
+    }
+
+    @Test
+    public void testContainsNonLocale() {
+        this.checkEquals(false, LocaleSet.with(Sets.of(EN_AU)).contains("en-AU"));
+    }
+
+    @Test
+    public void testRemove() {
+        final LocaleSet set = LocaleSet.with(Sets.of(EN_AU, EN_NZ, UNAVAILABLE));
+
+        this.checkEquals(true, set.remove(EN_AU), "remove");
+        this.checkEquals(false, set.remove(EN_AU), "remove again");
+        this.checkEquals(true, set.remove(UNAVAILABLE), "remove unavailable");
+
+        this.checkEquals(Sets.of(EN_NZ), set);
+    }
+
+    @Test
+    public void testClear() {
+        final LocaleSet set = LocaleSet.with(Sets.of(EN_AU, UNAVAILABLE));
+        set.clear();
+
+        this.checkEquals(Sets.empty(), set);
+    }
+
+    @Test
+    public void testIteratorOrdinalOrderThenUnavailable() {
+        final List<Locale> available = LocaleSupport.availableLocales();
+        final Locale first = available.get(0);
+        final Locale last = available.get(available.size() - 1);
+
+        this.checkEquals(
+            Lists.of(first, last, UNAVAILABLE),
+            Lists.of(LocaleSet.with(Lists.of(UNAVAILABLE, last, first)).toArray())
+        );
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        final LocaleSet set = LocaleSet.with(Sets.of(EN_AU, EN_NZ, UNAVAILABLE));
+
+        final Iterator<Locale> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            final Locale locale = iterator.next();
+            if (false == locale.equals(EN_NZ)) {
+                iterator.remove();
+            }
+        }
+
+        this.checkEquals(Sets.of(EN_NZ), set);
+    }
+
+    @Test
+    public void testAllAvailable() {
+        final List<Locale> available = LocaleSupport.availableLocales();
+        final LocaleSet set = LocaleSet.with(available);
+
+        this.checkEquals(Sets.of(available.toArray(new Locale[0])), set);
+    }
+
+    @Test
+    public void testUnion() {
+        final LocaleSet set = LocaleSet.with(Sets.of(EN_AU, UNAVAILABLE));
+        final LocaleSet other = LocaleSet.with(Sets.of(EN_NZ));
+
+        this.checkEquals(Sets.of(EN_AU, EN_NZ, UNAVAILABLE), set.union(other), "union");
+        this.checkEquals(Sets.of(EN_AU, UNAVAILABLE), set, "set unchanged");
+    }
+
+    @Test
+    public void testIntersection() {
+        final LocaleSet set = LocaleSet.with(Sets.of(EN_AU, EN_NZ, UNAVAILABLE));
+        final LocaleSet other = LocaleSet.with(Sets.of(EN_NZ, FR, UNAVAILABLE));
+
+        this.checkEquals(Sets.of(EN_NZ, UNAVAILABLE), set.intersection(other), "intersection");
+        this.checkEquals(Sets.of(EN_AU, EN_NZ, UNAVAILABLE), set, "set unchanged");
+    }
+
+    @Test
+    public void testEqualsHashSet() {
+        final Set<Locale> locales = Sets.of(EN_AU, FR, UNAVAILABLE);
+        final LocaleSet set = LocaleSet.with(locales);
+
+        this.checkEquals(locales, set);
+        this.checkEquals(locales.hashCode(), set.hashCode(), "hashCode");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LocaleSet> type() {
+        return LocaleSet.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
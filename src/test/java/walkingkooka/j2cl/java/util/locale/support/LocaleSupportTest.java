@@ -20,6 +20,7 @@ package walkingkooka.j2cl.java.util.locale.support;
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.j2cl.java.io.string.StringDataInputDataOutput;
+import walkingkooka.j2cl.java.util.locale.generated.LocaleProvider;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.text.CharSequences;
@@ -30,14 +31,46 @@ import walkingkooka.text.printer.Printers;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 public final class LocaleSupportTest implements ClassTesting2<LocaleSupport> {
 
+    // availableLocales.................................................................................................
+
+    @Test
+    public void testAvailableLocales() {
+        this.checkEquals(
+            Arrays.asList(Locale.getAvailableLocales()),
+            LocaleSupport.availableLocales()
+        );
+    }
+
+    @Test
+    public void testAvailableLocalesCached() {
+        assertSame(
+            LocaleSupport.availableLocales(),
+            LocaleSupport.availableLocales()
+        );
+    }
+
+    @Test
+    public void testAvailableLocalesReadOnly() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> LocaleSupport.availableLocales().clear()
+        );
+    }
+
     @Test
     public void testGenerateLocales() throws Exception {
         final Set<Locale> locales = Sets.of(Locale.forLanguageTag("EN-AU"), Locale.forLanguageTag("EN-NZ"), Locale.forLanguageTag("EN-US"));
@@ -78,6 +111,130 @@ public final class LocaleSupportTest implements ClassTesting2<LocaleSupport> {
         this.checkEquals(locales, LocaleSupport.readLocales(StringDataInputDataOutput.input(data.toString())));
     }
 
+    @Test
+    public void testWriteCompactReadLocales() throws Exception {
+        final Set<Locale> locales = Sets.of(Locale.forLanguageTag("EN-AU"), Locale.forLanguageTag("EN-NZ"), Locale.forLanguageTag("zh-Hant-TW"));
+
+        final StringBuilder data = new StringBuilder();
+        LocaleSupport.writeLocalesCompact(locales, StringDataInputDataOutput.output(data::append));
+
+        this.checkEquals(locales, LocaleSupport.readLocales(StringDataInputDataOutput.input(data.toString())));
+    }
+
+    @Test
+    public void testWriteCompactReadLocalesAll() throws Exception {
+        final Set<Locale> locales = Sets.ordered();
+        locales.addAll(LocaleSupport.availableLocales());
+
+        final StringBuilder data = new StringBuilder();
+        LocaleSupport.writeLocales(locales, StringDataInputDataOutput.output(data::append));
+
+        final StringBuilder compact = new StringBuilder();
+        LocaleSupport.writeLocalesCompact(locales, StringDataInputDataOutput.output(compact::append));
+
+        this.checkEquals(
+            LocaleSupport.readLocales(StringDataInputDataOutput.input(data.toString())),
+            LocaleSupport.readLocales(StringDataInputDataOutput.input(compact.toString()))
+        );
+    }
+
+    // ordinal..........................................................................................................
+
+    @Test
+    public void testAvailableLocaleCount() throws Exception {
+        this.checkEquals(
+            LanguageTagTable.read(LocaleProvider.DATA).size(),
+            LocaleSupport.availableLocaleCount()
+        );
+    }
+
+    @Test
+    public void testOrdinalAvailableLocales() {
+        final List<Locale> locales = LocaleSupport.availableLocales();
+        final int count = LocaleSupport.availableLocaleCount();
+
+        for (int i = 0; i < locales.size(); i++) {
+            final Locale locale = locales.get(i);
+            final int ordinal = LocaleSupport.ordinal(locale);
+
+            if (LocaleSupport.NO_ORDINAL == ordinal) {
+                this.checkEquals(true, i >= count, () -> "ordinal " + locale);
+            } else {
+                this.checkEquals(true, ordinal < count, () -> "ordinal " + locale);
+                this.checkEquals(locale, LocaleSupport.availableLocale(ordinal), () -> "availableLocale " + ordinal);
+            }
+        }
+    }
+
+    @Test
+    public void testOrdinalUnavailable() {
+        this.checkEquals(
+            LocaleSupport.NO_ORDINAL,
+            LocaleSupport.ordinal(new Locale("xyz"))
+        );
+    }
+
+    // metrics..........................................................................................................
+
+    @Test
+    public void testMetricsDefault() {
+        assertSame(
+            NoOpLocaleMetrics.INSTANCE,
+            LocaleSupport.metrics()
+        );
+    }
+
+    @Test
+    public void testSetMetricsNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LocaleSupport.setMetrics(null)
+        );
+    }
+
+    @Test
+    public void testSetMetricsAlternativesComputedUnavailableWithout() {
+        this.alternativesComputedAndCheck(
+            new Locale("xyz"),
+            0
+        );
+    }
+
+    @Test
+    public void testSetMetricsAlternativesComputedRemembered() {
+        final Locale locale = Locale.forLanguageTag("nn-NO");
+        LocaleSupport.alternatives(locale, LocaleSupport.INCLUDE_NORWAY);
+
+        this.alternativesComputedAndCheck(
+            locale,
+            0
+        );
+    }
+
+    @Test
+    public void testSetMetricsAlternativesComputedNotRemembered() {
+        this.alternativesComputedAndCheck(
+            Locale.forLanguageTag("he-QM"),
+            1
+        );
+    }
+
+    private void alternativesComputedAndCheck(final Locale locale,
+                                              final int expected) {
+        final CountingLocaleMetrics metrics = CountingLocaleMetrics.run(
+            () -> LocaleSupport.alternatives(
+                locale,
+                LocaleSupport.INCLUDE_NORWAY
+            )
+        );
+
+        this.checkEquals(
+            expected,
+            metrics.count(LocaleMetrics.Counter.ALTERNATIVES_COMPUTED),
+            () -> "alternatives computed " + locale
+        );
+    }
+
     // alternatives.....................................................................................................
 
     @Test
@@ -133,6 +290,35 @@ public final class LocaleSupportTest implements ClassTesting2<LocaleSupport> {
             null);
     }
 
+    @Test
+    public void testAlternativesAllAvailableIncludeNorway() {
+        this.alternativesAllAvailableAndCheck(LocaleSupport.INCLUDE_NORWAY);
+    }
+
+    @Test
+    public void testAlternativesAllAvailableIgnoreNorway() {
+        this.alternativesAllAvailableAndCheck(LocaleSupport.IGNORE_NORWAY);
+    }
+
+    private void alternativesAllAvailableAndCheck(final boolean includeNorway) {
+        for (final Locale locale : LocaleSupport.availableLocales()) {
+            assertSame(
+                LocaleSupport.alternatives(locale, includeNorway),
+                LocaleSupport.alternatives(locale, includeNorway),
+                () -> "alternatives " + locale + " " + includeNorway
+            );
+        }
+    }
+
+    @Test
+    public void testAlternativesUnavailable() {
+        this.alternativesAndCheck(
+            new Locale("xyz"),
+            LocaleSupport.INCLUDE_NORWAY,
+            null
+        );
+    }
+
     private Locale nnNo() {
         return Locale.forLanguageTag("nn-NO");
     }
@@ -167,6 +353,346 @@ public final class LocaleSupportTest implements ClassTesting2<LocaleSupport> {
             () -> "alternative for " + CharSequences.quoteIfChars(locale.toString()));
     }
 
+    // candidates.......................................................................................................
+
+    @Test
+    public void testCandidatesNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LocaleSupport.candidates(null, LocaleSupport.INCLUDE_NORWAY)
+        );
+    }
+
+    @Test
+    public void testCandidatesRoot() {
+        this.candidatesAndCheck(
+            Locale.ROOT,
+            LocaleSupport.INCLUDE_NORWAY,
+            Locale.ROOT
+        );
+    }
+
+    @Test
+    public void testCandidatesLanguage() {
+        this.candidatesAndCheck(
+            "en",
+            "en"
+        );
+    }
+
+    @Test
+    public void testCandidatesLanguageCountry() {
+        this.candidatesAndCheck(
+            "en-AU",
+            "en-AU",
+            "en"
+        );
+    }
+
+    @Test
+    public void testCandidatesLanguageScriptCountry() {
+        this.candidatesAndCheck(
+            "zh-Hant-TW",
+            "zh-Hant-TW",
+            "zh-Hant",
+            "zh"
+        );
+    }
+
+    @Test
+    public void testCandidatesVariant() {
+        this.candidatesAndCheck(
+            "de-CH-1996",
+            "de-CH-1996",
+            "de-CH",
+            "de"
+        );
+    }
+
+    @Test
+    public void testCandidatesExtension() {
+        this.candidatesAndCheck(
+            "ja-JP-u-ca-japanese",
+            "ja-JP-u-ca-japanese",
+            "ja-JP",
+            "ja"
+        );
+    }
+
+    @Test
+    public void testCandidatesUnavailable() {
+        this.candidatesAndCheck(
+            "xyz-QQ",
+            "xyz-QQ",
+            "xyz"
+        );
+    }
+
+    @Test
+    public void testCandidatesIncludeNorwayNN_NO() {
+        this.candidatesAndCheck(
+            nnNo(),
+            LocaleSupport.INCLUDE_NORWAY,
+            nnNo(),
+            LocaleSupport.alternatives(nnNo(), LocaleSupport.INCLUDE_NORWAY).get(),
+            Locale.forLanguageTag("nn"),
+            Locale.ROOT
+        );
+    }
+
+    @Test
+    public void testCandidatesIgnoreNorwayNN_NO() {
+        this.candidatesAndCheck(
+            nnNo(),
+            LocaleSupport.IGNORE_NORWAY,
+            nnNo(),
+            Locale.forLanguageTag("nn"),
+            Locale.ROOT
+        );
+    }
+
+    @Test
+    public void testCandidatesShared() {
+        final Locale locale = Locale.forLanguageTag("en-AU");
+        assertSame(
+            LocaleSupport.candidates(locale, LocaleSupport.INCLUDE_NORWAY),
+            LocaleSupport.candidates(locale, LocaleSupport.INCLUDE_NORWAY)
+        );
+    }
+
+    @Test
+    public void testCandidatesSharedUnavailable() {
+        final Locale locale = Locale.forLanguageTag("xyz-QQ");
+        assertSame(
+            LocaleSupport.candidates(locale, LocaleSupport.IGNORE_NORWAY),
+            LocaleSupport.candidates(locale, LocaleSupport.IGNORE_NORWAY)
+        );
+    }
+
+    @Test
+    public void testCandidatesReadOnly() {
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> LocaleSupport.candidates(Locale.ENGLISH, LocaleSupport.INCLUDE_NORWAY).clear()
+        );
+    }
+
+    @Test
+    public void testCandidatesAllAvailable() {
+        for (final Locale locale : LocaleSupport.availableLocales()) {
+            final List<Locale> candidates = LocaleSupport.candidates(locale, LocaleSupport.INCLUDE_NORWAY);
+
+            this.checkEquals(
+                LocaleSupport.candidates0(locale, LocaleSupport.INCLUDE_NORWAY),
+                candidates,
+                () -> "candidates " + locale
+            );
+            this.checkEquals(
+                locale,
+                candidates.get(0),
+                () -> "candidates " + locale
+            );
+            this.checkEquals(
+                Locale.ROOT,
+                candidates.get(candidates.size() - 1),
+                () -> "candidates " + locale
+            );
+        }
+    }
+
+    private void candidatesAndCheck(final String locale,
+                                    final String... candidates) {
+        final List<Locale> expected = Arrays.stream(candidates)
+            .map(Locale::forLanguageTag)
+            .collect(Collectors.toCollection(ArrayList::new));
+        expected.add(Locale.ROOT);
+
+        this.candidatesAndCheck(
+            Locale.forLanguageTag(locale),
+            LocaleSupport.IGNORE_NORWAY,
+            expected.toArray(new Locale[0])
+        );
+    }
+
+    private void candidatesAndCheck(final Locale locale,
+                                    final boolean includeNorway,
+                                    final Locale... candidates) {
+        this.checkEquals(
+            Arrays.asList(candidates),
+            LocaleSupport.candidates(locale, includeNorway),
+            () -> "candidates " + locale + " " + includeNorway
+        );
+    }
+
+    // likelySubtags....................................................................................................
+
+    @Test
+    public void testAddLikelySubtagsNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LocaleSupport.addLikelySubtags(null)
+        );
+    }
+
+    @Test
+    public void testAddLikelySubtags() {
+        this.checkEquals(
+            Locale.forLanguageTag("zh-Hant-TW"),
+            LocaleSupport.addLikelySubtags(Locale.forLanguageTag("zh-TW"))
+        );
+    }
+
+    @Test
+    public void testAddLikelySubtagsShared() {
+        final Locale locale = Locale.forLanguageTag("sr");
+        assertSame(
+            LocaleSupport.addLikelySubtags(locale),
+            LocaleSupport.addLikelySubtags(locale)
+        );
+    }
+
+    @Test
+    public void testMinimizeSubtagsNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LocaleSupport.minimizeSubtags(null)
+        );
+    }
+
+    @Test
+    public void testMinimizeSubtags() {
+        this.checkEquals(
+            Locale.forLanguageTag("zh-TW"),
+            LocaleSupport.minimizeSubtags(Locale.forLanguageTag("zh-Hant-TW"))
+        );
+    }
+
+    @Test
+    public void testMinimizeSubtagsShared() {
+        final Locale locale = Locale.forLanguageTag("xyz-Latn-QQ");
+        assertSame(
+            LocaleSupport.minimizeSubtags(locale),
+            LocaleSupport.minimizeSubtags(locale)
+        );
+    }
+
+    // tryForLanguageTag................................................................................................
+
+    @Test
+    public void testTryForLanguageTagNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LocaleSupport.tryForLanguageTag(null)
+        );
+    }
+
+    @Test
+    public void testTryForLanguageTagEmpty() {
+        this.tryForLanguageTagAndCheck("", Locale.ROOT);
+    }
+
+    @Test
+    public void testTryForLanguageTagLanguage() {
+        this.tryForLanguageTagAndCheck("en");
+    }
+
+    @Test
+    public void testTryForLanguageTagLanguageCountry() {
+        this.tryForLanguageTagAndCheck("en-AU");
+    }
+
+    @Test
+    public void testTryForLanguageTagLanguageScriptCountry() {
+        this.tryForLanguageTagAndCheck("zh-Hant-TW");
+    }
+
+    @Test
+    public void testTryForLanguageTagLanguageNumericRegion() {
+        this.tryForLanguageTagAndCheck("es-419");
+    }
+
+    @Test
+    public void testTryForLanguageTagLanguageCountryVariant() {
+        this.tryForLanguageTagAndCheck("ca-ES-VALENCIA");
+    }
+
+    @Test
+    public void testTryForLanguageTagLeadingSeparator() {
+        this.tryForLanguageTagAndCheck("-en", null);
+    }
+
+    @Test
+    public void testTryForLanguageTagTrailingSeparator() {
+        this.tryForLanguageTagAndCheck("en-", null);
+    }
+
+    @Test
+    public void testTryForLanguageTagEmptySubtag() {
+        this.tryForLanguageTagAndCheck("en--AU", null);
+    }
+
+    @Test
+    public void testTryForLanguageTagUnderscore() {
+        this.tryForLanguageTagAndCheck(
+            "pt_BR",
+            Locale.forLanguageTag("pt-BR")
+        );
+    }
+
+    @Test
+    public void testTryForLanguageTagUnderscoreAndDash() {
+        this.tryForLanguageTagAndCheck(
+            "zh_Hant-TW",
+            Locale.forLanguageTag("zh-Hant-TW")
+        );
+    }
+
+    @Test
+    public void testTryForLanguageTagTrailingUnderscore() {
+        this.tryForLanguageTagAndCheck("en_", null);
+    }
+
+    @Test
+    public void testTryForLanguageTagInvalidCharacter() {
+        this.tryForLanguageTagAndCheck("en-AU!", null);
+    }
+
+    @Test
+    public void testTryForLanguageTagLanguageTooShort() {
+        this.tryForLanguageTagAndCheck("e", null);
+    }
+
+    @Test
+    public void testTryForLanguageTagLanguageTooLong() {
+        this.tryForLanguageTagAndCheck("abcdefghi", null);
+    }
+
+    @Test
+    public void testTryForLanguageTagLanguageDigits() {
+        this.tryForLanguageTagAndCheck("123", null);
+    }
+
+    @Test
+    public void testTryForLanguageTagVariantTooLong() {
+        this.tryForLanguageTagAndCheck("sr-Latn-RS-abcdefghi", null);
+    }
+
+    private void tryForLanguageTagAndCheck(final String languageTag) {
+        this.tryForLanguageTagAndCheck(
+            languageTag,
+            Locale.forLanguageTag(languageTag)
+        );
+    }
+
+    private void tryForLanguageTagAndCheck(final String languageTag,
+                                           final Locale expected) {
+        this.checkEquals(
+            Optional.ofNullable(expected),
+            LocaleSupport.tryForLanguageTag(languageTag),
+            () -> "tryForLanguageTag " + CharSequences.quoteAndEscape(languageTag)
+        );
+    }
+
     // ClassTesting.....................................................................................................
 
     @Override
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class LruCacheTest implements ClassTesting2<LruCache<?, ?>>,
+    ToStringTesting<LruCache<?, ?>> {
+
+    @Test
+    public void testWithZeroMaxFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> LruCache.with(0)
+        );
+    }
+
+    @Test
+    public void testGetMissing() {
+        assertNull(LruCache.<String, String>with(2).get("a"));
+    }
+
+    @Test
+    public void testPutGet() {
+        final LruCache<String, String> cache = LruCache.with(2);
+        cache.put("a", "1");
+
+        this.checkEquals("1", cache.get("a"));
+        this.checkEquals(1, cache.size());
+    }
+
+    @Test
+    public void testPutNullValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LruCache.<String, String>with(2).put("a", null)
+        );
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        final LruCache<String, String> cache = LruCache.with(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        this.checkEquals("1", cache.get("a"));
+        assertNull(cache.get("b"), "b should have been evicted");
+        this.checkEquals("3", cache.get("c"));
+        this.checkEquals(2, cache.size());
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        final LruCache<String, String> cache = LruCache.with(2);
+
+        this.checkEquals("A", cache.computeIfAbsent("a", String::toUpperCase));
+        this.checkEquals("A", cache.computeIfAbsent("a", k -> "different"));
+    }
+
+    @Test
+    public void testClear() {
+        final LruCache<String, String> cache = LruCache.with(2);
+        cache.put("a", "1");
+        cache.clear();
+
+        this.checkEquals(0, cache.size());
+    }
+
+    @Test
+    public void testHitCountMissCount() {
+        final LruCache<String, String> cache = LruCache.with(2);
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        this.checkEquals(2, cache.hitCount(), "hitCount");
+        this.checkEquals(1, cache.missCount(), "missCount");
+    }
+
+    @Test
+    public void testComputeIfAbsentCounts() {
+        final LruCache<String, String> cache = LruCache.with(2);
+        cache.computeIfAbsent("a", String::toUpperCase);
+        cache.computeIfAbsent("a", String::toUpperCase);
+
+        this.checkEquals(1, cache.hitCount(), "hitCount");
+        this.checkEquals(1, cache.missCount(), "missCount");
+    }
+
+    @Test
+    public void testEvictionCount() {
+        final LruCache<String, String> cache = LruCache.with(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        this.checkEquals(0, cache.evictionCount(), "evictionCount");
+
+        cache.put("c", "3");
+        cache.put("d", "4");
+        this.checkEquals(2, cache.evictionCount(), "evictionCount");
+    }
+
+    @Test
+    public void testEvictionCountReplaceNotCounted() {
+        final LruCache<String, String> cache = LruCache.with(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("b", "3");
+
+        this.checkEquals(0, cache.evictionCount(), "evictionCount");
+    }
+
+    @Test
+    public void testWithNullListenerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> LruCache.with(1, null)
+        );
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        final LruCache<String, String> cache = LruCache.with(2);
+
+        assertNull(cache.putIfAbsent("a", "1"));
+        this.checkEquals("1", cache.putIfAbsent("a", "2"));
+        this.checkEquals("1", cache.get("a"));
+    }
+
+    @Test
+    public void testComputeIfAbsentKeepsFirstValue() {
+        final LruCache<String, String> cache = LruCache.with(2);
+
+        // another thread caches a value while this one is computing
+        final String value = cache.computeIfAbsent(
+            "a",
+            k -> {
+                cache.put(k, "first");
+                return "second";
+            }
+        );
+
+        this.checkEquals("first", value);
+        this.checkEquals("first", cache.get("a"));
+    }
+
+    @Test
+    public void testListener() {
+        final StringBuilder events = new StringBuilder();
+        final LruCache<String, String> cache = LruCache.with(
+            1,
+            new LruCache.Listener() {
+                @Override
+                public void hit() {
+                    events.append("hit ");
+                }
+
+                @Override
+                public void miss() {
+                    events.append("miss ");
+                }
+
+                @Override
+                public void eviction() {
+                    events.append("eviction ");
+                }
+            }
+        );
+        cache.computeIfAbsent("a", String::toUpperCase);
+        cache.computeIfAbsent("a", String::toUpperCase);
+        cache.put("b", "B");
+
+        this.checkEquals("miss hit eviction ", events.toString());
+    }
+
+    @Test
+    public void testToString() {
+        final LruCache<String, String> cache = LruCache.with(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        this.toStringAndCheck(cache, "{a=1, b=2}");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<LruCache<?, ?>> type() {
+        return Cast.to(LruCache.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
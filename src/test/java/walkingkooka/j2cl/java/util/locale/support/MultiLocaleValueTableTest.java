@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.predicate.Predicates;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+public final class MultiLocaleValueTableTest implements ClassTesting2<MultiLocaleValueTable<String>> {
+
+    private final static Locale EN_AU = Locale.forLanguageTag("en-AU");
+
+    @Test
+    public void testApplyFirstMatchWins() {
+        final List<MultiLocaleValue<String>> multis = Lists.of(
+            MultiLocaleValue.with("first", Predicate.isEqual(EN_AU), LocaleSupport.IGNORE_NORWAY),
+            MultiLocaleValue.with("second", Predicate.isEqual(EN_AU), LocaleSupport.IGNORE_NORWAY),
+            MultiLocaleValue.with("*", Predicates.always(), LocaleSupport.IGNORE_NORWAY)
+        );
+
+        this.checkEquals(
+            "first",
+            MultiLocaleValueTable.with(multis).apply(EN_AU)
+        );
+    }
+
+    @Test
+    public void testApplyAlternative() {
+        final List<MultiLocaleValue<String>> multis = Lists.of(
+            MultiLocaleValue.with("iw-IL", Predicate.isEqual(Locale.forLanguageTag("iw-IL")), LocaleSupport.IGNORE_NORWAY),
+            MultiLocaleValue.with("*", Predicates.always(), LocaleSupport.IGNORE_NORWAY)
+        );
+
+        this.checkEquals(
+            "iw-IL",
+            MultiLocaleValueTable.with(multis).apply(Locale.forLanguageTag("he-IL"))
+        );
+    }
+
+    @Test
+    public void testApplyCatchAll() {
+        final List<MultiLocaleValue<String>> multis = Lists.of(
+            MultiLocaleValue.with("en-AU", Predicate.isEqual(EN_AU), LocaleSupport.IGNORE_NORWAY),
+            MultiLocaleValue.with("*", Predicates.always(), LocaleSupport.IGNORE_NORWAY)
+        );
+
+        this.checkEquals(
+            "*",
+            MultiLocaleValueTable.with(multis).apply(Locale.forLanguageTag("fr"))
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<MultiLocaleValueTable<String>> type() {
+        return Cast.to(MultiLocaleValueTable.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -27,8 +27,11 @@ import walkingkooka.reflect.JavaVisibility;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 
 public final class MultiLocaleValueTest implements ClassTesting2<MultiLocaleValue<String>>, PredicateTesting2<MultiLocaleValue<String>, Locale> {
 
@@ -80,6 +83,51 @@ public final class MultiLocaleValueTest implements ClassTesting2<MultiLocaleValu
             MultiLocaleValue.findValue(multis, locale));
     }
 
+    @Test
+    public void testCompileSameAsFindValue() {
+        final List<MultiLocaleValue<String>> multis = Lists.of(
+            MultiLocaleValue.with("en", l -> l.getLanguage().equals("en"), LocaleSupport.IGNORE_NORWAY),
+            MultiLocaleValue.with("he-IL", Predicate.isEqual(Locale.forLanguageTag("he-IL")), LocaleSupport.IGNORE_NORWAY),
+            MultiLocaleValue.with("nn-NO", Predicate.isEqual(Locale.forLanguageTag("nn-NO")), LocaleSupport.INCLUDE_NORWAY),
+            MultiLocaleValue.with("*", Predicates.always(), LocaleSupport.IGNORE_NORWAY)
+        );
+
+        final Function<Locale, String> compiled = MultiLocaleValue.compile(multis);
+
+        for (final Locale locale : LocaleSupport.availableLocales()) {
+            this.checkEquals(
+                MultiLocaleValue.findValue(multis, locale),
+                compiled.apply(locale),
+                () -> "compiled " + locale
+            );
+        }
+    }
+
+    @Test
+    public void testCompileUnavailable() {
+        final Locale locale = new Locale("xyz");
+        final String value = "FOUND2";
+
+        final List<MultiLocaleValue<String>> multis = Lists.of(
+            this.createPredicate(),
+            MultiLocaleValue.with(value, Predicates.is(locale), LocaleSupport.IGNORE_NORWAY)
+        );
+
+        this.checkEquals(
+            value,
+            MultiLocaleValue.compile(multis).apply(locale)
+        );
+    }
+
+    @Test
+    public void testCompileNoMatchFails() {
+        assertThrows(
+            IllegalStateException.class,
+            () -> MultiLocaleValue.compile(Lists.of(this.createPredicate()))
+                .apply(Locale.forLanguageTag("fr"))
+        );
+    }
+
     @Override
     public MultiLocaleValue<String> createPredicate() {
         return this.createPredicate(this.locale());
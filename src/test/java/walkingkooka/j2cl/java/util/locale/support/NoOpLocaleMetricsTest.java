@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.j2cl.java.util.locale.support;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class NoOpLocaleMetricsTest implements ClassTesting2<NoOpLocaleMetrics>,
+    ToStringTesting<NoOpLocaleMetrics> {
+
+    @Test
+    public void testStart() {
+        this.checkEquals(
+            0L,
+            NoOpLocaleMetrics.INSTANCE.start()
+        );
+    }
+
+    @Test
+    public void testIncrementAndTime() {
+        final NoOpLocaleMetrics metrics = NoOpLocaleMetrics.INSTANCE;
+        metrics.increment(LocaleMetrics.Counter.ALTERNATIVES_COMPUTED);
+        metrics.time(LocaleMetrics.Timer.LANGUAGE_TAG_TABLE_READ, metrics.start());
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            NoOpLocaleMetrics.INSTANCE,
+            "NoOp"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<NoOpLocaleMetrics> type() {
+        return NoOpLocaleMetrics.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}